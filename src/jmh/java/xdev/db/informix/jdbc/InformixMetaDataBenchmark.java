@@ -0,0 +1,202 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import xdev.db.ColumnMetaData;
+import xdev.db.DBMetaData.TableInfo;
+import xdev.db.DBMetaData.TableMetaData;
+import xdev.db.Index;
+import xdev.db.Index.IndexType;
+
+
+/**
+ * Throughput of the catalog decoding in {@link InformixJDBCMetaData} over synthetic catalogs of 1k, 10k and 100k
+ * tables. Run with <code>mvn -Pjmh test-compile exec:exec</code>, the GC profiler is enabled by default to report
+ * the allocation rate.
+ * <p>
+ * The rows are served by a {@link SyntheticResultSet}, whose reflective dispatch adds a constant overhead per
+ * getter call compared to a driver result set.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InformixMetaDataBenchmark
+{
+	private static final int COLUMNS_PER_TABLE = 8;
+	private static final String SCHEMA = "informix";
+	
+	private static final String[] CATALOG_COLUMNS = {"tabname", "tabtype", "colno", "colname", "collength",
+		"coltype", "extended_id", "default", "type", "colmin", "colmax", "tabid", "nrows"};
+	
+	// CHAR, SMALLINT, INTEGER, FLOAT, DECIMAL, SERIAL, DATETIME, VARCHAR
+	private static final int[] COLUMN_TYPES = {0, 1, 2, 3, 5, 6, 10, 13};
+	private static final int[] COLUMN_LENGTHS = {20, 2, 4, 8, 2050, 4, 4365, 255};
+	
+	@Param({"1000", "10000", "100000"})
+	public int tables;
+	
+	private InformixJDBCMetaData metaData;
+	private Object[][] catalogRows;
+	private String[] procedureSignatures;
+	
+	private Map<String, List<ColumnMetaData>> columnsMap;
+	private Map<String, TableInfo> tableInfoMap;
+	private Map<String, Integer> statisticsMap;
+	private InformixColumnKeyMap columnNames;
+	private Map<String, List<Index>> indicesMap;
+	private Map<Integer, List<InformixIndexDefinition>> indexDefinitions;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception
+	{
+		this.metaData = new InformixJDBCMetaData(new InformixJDBCDataSource());
+		this.catalogRows = createCatalogRows(this.tables);
+		this.procedureSignatures = createProcedureSignatures(this.tables);
+		
+		this.columnsMap = new HashMap<>();
+		this.tableInfoMap = new HashMap<>();
+		this.statisticsMap = new HashMap<>();
+		this.columnNames = new InformixColumnKeyMap();
+		this.metaData.parseResultToMaps(SCHEMA, SyntheticResultSet.create(CATALOG_COLUMNS, this.catalogRows),
+			this.columnsMap, this.tableInfoMap, this.columnNames, this.statisticsMap);
+		
+		this.indexDefinitions = new HashMap<>();
+		for(int table = 0; table < this.tables; table++)
+		{
+			final List<InformixIndexDefinition> definitions = new ArrayList<>(2);
+			definitions.add(new InformixIndexDefinition("PRIMARY_KEY", IndexType.PRIMARY_KEY, new short[]{1}));
+			definitions.add(new InformixIndexDefinition("ix_" + table, IndexType.NORMAL, new short[]{2, 3}));
+			this.indexDefinitions.put(100 + table, definitions);
+		}
+		this.indicesMap = this.mergeIndices();
+	}
+	
+	private static Object[][] createCatalogRows(final int tables)
+	{
+		final Object[][] rows = new Object[tables * COLUMNS_PER_TABLE][];
+		int row = 0;
+		for(int table = 0; table < tables; table++)
+		{
+			final boolean view = table % 10 == 9;
+			for(int column = 0; column < COLUMNS_PER_TABLE; column++)
+			{
+				// the first column is NOT NULL, every fourth has a literal default
+				final int colType = COLUMN_TYPES[column] | (column == 0 ? 0x100 : 0);
+				final boolean literalDefault = column % 4 == 1;
+				rows[row++] = new Object[]{"table_" + table, view ? "V" : "T", column + 1, "column_" + column,
+					COLUMN_LENGTHS[column], colType, 0, literalDefault ? "42 42" : null,
+					literalDefault ? "L" : null, null, null, 100 + table, view ? null : (double)table * 10};
+			}
+		}
+		return rows;
+	}
+	
+	private static String[] createProcedureSignatures(final int procedures)
+	{
+		final String[] signatures = new String[procedures];
+		for(int procedure = 0; procedure < procedures; procedure++)
+		{
+			final StringBuilder sb = new StringBuilder();
+			for(int param = 0; param < procedure % 8; param++)
+			{
+				if(param > 0)
+				{
+					sb.append(',');
+				}
+				sb.append('(').append(COLUMN_TYPES[param]).append(",0)");
+			}
+			signatures[procedure] = sb.toString();
+		}
+		return signatures;
+	}
+	
+	@Benchmark
+	public int parseResultToMaps() throws Exception
+	{
+		final Map<String, TableInfo> tableInfos = new HashMap<>();
+		this.metaData.parseResultToMaps(SCHEMA, SyntheticResultSet.create(CATALOG_COLUMNS, this.catalogRows),
+			new HashMap<>(), tableInfos, new InformixColumnKeyMap(), new HashMap<>());
+		return tableInfos.size();
+	}
+	
+	@Benchmark
+	public void decodeColumnDefault(final Blackhole blackhole) throws Exception
+	{
+		final ResultSet rs = SyntheticResultSet.create(CATALOG_COLUMNS, this.catalogRows);
+		while(rs.next())
+		{
+			blackhole.consume(InformixJDBCMetaData.decodeColumnDefault(rs.getString("type"),
+				rs.getString("default")));
+		}
+	}
+	
+	@Benchmark
+	public void parseIfxIds(final Blackhole blackhole)
+	{
+		final InformixTypeIds typeIds = new InformixTypeIds();
+		for(final String signature : this.procedureSignatures)
+		{
+			blackhole.consume(typeIds.parse(signature).size());
+		}
+	}
+	
+	@Benchmark
+	public TableMetaData[] convToTableMetaData()
+	{
+		return this.metaData.convToTableMetaData(this.indicesMap, this.tableInfoMap, this.columnsMap,
+			this.statisticsMap, false, InformixSynonyms.EMPTY);
+	}
+	
+	@Benchmark
+	public Map<String, List<Index>> mergeIndices()
+	{
+		final Map<String, List<Index>> indices = new HashMap<>();
+		for(final Map.Entry<Integer, List<InformixIndexDefinition>> entry : this.indexDefinitions.entrySet())
+		{
+			final int tabid = entry.getKey();
+			final TableInfo tableInfo = this.tableInfoMap.get(String.valueOf(tabid));
+			indices.put(tableInfo.getName(), this.metaData.toIndices(entry.getValue(),
+				columnNumber -> this.columnNames.get(tabid, columnNumber)));
+		}
+		return indices;
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Read-only, forward-only {@link ResultSet} over rows held in memory, so the catalog decoding can be measured
+ * without a database. Supports <code>next</code>, <code>wasNull</code>, <code>close</code> and the getters by
+ * column label or index.
+ */
+final class SyntheticResultSet implements InvocationHandler
+{
+	private final Map<String, Integer> columnIndices = new HashMap<>();
+	private final Object[][] rows;
+	private int row = -1;
+	private boolean wasNull;
+	
+	private SyntheticResultSet(final String[] columns, final Object[][] rows)
+	{
+		for(int i = 0; i < columns.length; i++)
+		{
+			this.columnIndices.put(columns[i].toLowerCase(Locale.ROOT), i);
+		}
+		this.rows = rows;
+	}
+	
+	static ResultSet create(final String[] columns, final Object[][] rows)
+	{
+		return (ResultSet)Proxy.newProxyInstance(SyntheticResultSet.class.getClassLoader(),
+			new Class<?>[]{ResultSet.class}, new SyntheticResultSet(columns, rows));
+	}
+	
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable
+	{
+		final String name = method.getName();
+		switch(name)
+		{
+			case "next":
+				return ++this.row < this.rows.length;
+			case "wasNull":
+				return this.wasNull;
+			case "close":
+				return null;
+			case "isClosed":
+				return false;
+			default:
+				if(name.startsWith("get") && args != null && args.length == 1)
+				{
+					final Object value = this.rows[this.row][this.columnIndex(args[0])];
+					this.wasNull = value == null;
+					return convert(value, method.getReturnType());
+				}
+				throw new UnsupportedOperationException(name);
+		}
+	}
+	
+	private int columnIndex(final Object column) throws SQLException
+	{
+		if(column instanceof Integer)
+		{
+			return (Integer)column - 1;
+		}
+		final Integer index = this.columnIndices.get(((String)column).toLowerCase(Locale.ROOT));
+		if(index == null)
+		{
+			throw new SQLException("Unknown column: " + column);
+		}
+		return index;
+	}
+	
+	private static Object convert(final Object value, final Class<?> type)
+	{
+		if(type == String.class)
+		{
+			return value != null ? value.toString() : null;
+		}
+		if(!type.isPrimitive())
+		{
+			return value;
+		}
+		
+		final Number number = value != null ? (Number)value : 0;
+		if(type == int.class)
+		{
+			return number.intValue();
+		}
+		if(type == short.class)
+		{
+			return number.shortValue();
+		}
+		if(type == long.class)
+		{
+			return number.longValue();
+		}
+		if(type == double.class)
+		{
+			return number.doubleValue();
+		}
+		throw new UnsupportedOperationException(type.getName());
+	}
+}
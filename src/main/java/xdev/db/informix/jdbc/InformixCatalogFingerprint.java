@@ -0,0 +1,121 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+
+/**
+ * A cheap fingerprint of the catalog, read with one small aggregate query over <code>systables</code> and
+ * <code>sysprocedures</code>. Creating, dropping or altering a table or routine changes the fingerprint.
+ */
+final class InformixCatalogFingerprint
+{
+	private static final String SQL = "SELECT MAX(T.tabid), COUNT(*), SUM(T.version)," //$NON-NLS-1$
+		+ " SUM(T.created - MDY(12, 31, 1899))," //$NON-NLS-1$
+		+ " (SELECT COUNT(*) FROM informix.sysprocedures)," //$NON-NLS-1$
+		+ " (SELECT MAX(P.procid) FROM informix.sysprocedures P)" //$NON-NLS-1$
+		+ " FROM informix.systables T"; //$NON-NLS-1$
+	
+	private final long maxTabid;
+	private final long tableCount;
+	private final long versionSum;
+	private final long createdSum;
+	private final long procedureCount;
+	private final long maxProcid;
+	
+	InformixCatalogFingerprint(
+		final long maxTabid, final long tableCount, final long versionSum,
+		final long createdSum, final long procedureCount, final long maxProcid)
+	{
+		this.maxTabid = maxTabid;
+		this.tableCount = tableCount;
+		this.versionSum = versionSum;
+		this.createdSum = createdSum;
+		this.procedureCount = procedureCount;
+		this.maxProcid = maxProcid;
+	}
+	
+	static InformixCatalogFingerprint read(final Connection connection) throws SQLException
+	{
+		try(final Statement statement = connection.createStatement();
+			final ResultSet rs = statement.executeQuery(SQL))
+		{
+			if(!rs.next())
+			{
+				throw new SQLException("Cannot read catalog fingerprint"); //$NON-NLS-1$
+			}
+			return new InformixCatalogFingerprint(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+				rs.getLong(5), rs.getLong(6));
+		}
+	}
+	
+	long[] toArray()
+	{
+		return new long[]{this.maxTabid, this.tableCount, this.versionSum, this.createdSum, this.procedureCount,
+			this.maxProcid};
+	}
+	
+	static InformixCatalogFingerprint fromArray(final long[] values)
+	{
+		return new InformixCatalogFingerprint(values[0], values[1], values[2], values[3], values[4], values[5]);
+	}
+	
+	@Override
+	public boolean equals(final Object obj)
+	{
+		if(this == obj)
+		{
+			return true;
+		}
+		if(!(obj instanceof InformixCatalogFingerprint))
+		{
+			return false;
+		}
+		final InformixCatalogFingerprint other = (InformixCatalogFingerprint)obj;
+		return this.maxTabid == other.maxTabid
+			&& this.tableCount == other.tableCount
+			&& this.versionSum == other.versionSum
+			&& this.createdSum == other.createdSum
+			&& this.procedureCount == other.procedureCount
+			&& this.maxProcid == other.maxProcid;
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		long hash = this.maxTabid;
+		hash = 31 * hash + this.tableCount;
+		hash = 31 * hash + this.versionSum;
+		hash = 31 * hash + this.createdSum;
+		hash = 31 * hash + this.procedureCount;
+		hash = 31 * hash + this.maxProcid;
+		return (int)(hash ^ hash >>> 32);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "maxTabid=" + this.maxTabid + ", tables=" + this.tableCount + ", versions=" + this.versionSum
+			+ ", created=" + this.createdSum + ", procedures=" + this.procedureCount + ", maxProcid="
+			+ this.maxProcid;
+	}
+}
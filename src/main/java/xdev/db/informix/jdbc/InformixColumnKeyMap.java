@@ -0,0 +1,164 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.Arrays;
+
+
+/**
+ * Column names keyed by <code>(tabid, colno)</code>, packed into one <code>long</code> and stored with open
+ * addressing (linear probing), so no key objects are allocated per column.
+ */
+final class InformixColumnKeyMap
+{
+	/**
+	 * Never a valid key, since column numbers start at 1.
+	 */
+	private static final long FREE = 0L;
+	private static final int MIN_CAPACITY = 16;
+	
+	private long[] keys;
+	private String[] values;
+	private int size;
+	
+	InformixColumnKeyMap()
+	{
+		this(MIN_CAPACITY);
+	}
+	
+	/**
+	 * @param expectedSize the number of columns expected, to avoid rehashing
+	 */
+	InformixColumnKeyMap(final int expectedSize)
+	{
+		this.allocate(capacityFor(expectedSize));
+	}
+	
+	static long key(final int tabid, final int colno)
+	{
+		return (long)tabid << 32 | colno & 0xFFFFFFFFL;
+	}
+	
+	private static int capacityFor(final int expectedSize)
+	{
+		// keep the load factor at or below 0.5
+		final int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2) - 1) << 1;
+		return Math.max(MIN_CAPACITY, capacity);
+	}
+	
+	private static int hash(final long key)
+	{
+		// finalizer of MurmurHash3, spreads the sequential tabids and colnos
+		long h = key;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int)h;
+	}
+	
+	private void allocate(final int capacity)
+	{
+		this.keys = new long[capacity];
+		this.values = new String[capacity];
+	}
+	
+	void put(final int tabid, final int colno, final String name)
+	{
+		if((this.size + 1) * 2 > this.keys.length)
+		{
+			this.rehash(this.keys.length << 1);
+		}
+		
+		final long key = key(tabid, colno);
+		final int mask = this.keys.length - 1;
+		int slot = hash(key) & mask;
+		while(this.keys[slot] != FREE)
+		{
+			if(this.keys[slot] == key)
+			{
+				this.values[slot] = name;
+				return;
+			}
+			slot = slot + 1 & mask;
+		}
+		
+		this.keys[slot] = key;
+		this.values[slot] = name;
+		this.size++;
+	}
+	
+	/**
+	 * @return the column name, or <code>null</code> if the column is unknown
+	 */
+	String get(final int tabid, final int colno)
+	{
+		final long key = key(tabid, colno);
+		final int mask = this.keys.length - 1;
+		int slot = hash(key) & mask;
+		long current;
+		while((current = this.keys[slot]) != FREE)
+		{
+			if(current == key)
+			{
+				return this.values[slot];
+			}
+			slot = slot + 1 & mask;
+		}
+		return null;
+	}
+	
+	int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * Removes all columns but keeps the allocated capacity.
+	 */
+	void clear()
+	{
+		Arrays.fill(this.keys, FREE);
+		Arrays.fill(this.values, null);
+		this.size = 0;
+	}
+	
+	private void rehash(final int capacity)
+	{
+		final long[] oldKeys = this.keys;
+		final String[] oldValues = this.values;
+		this.allocate(capacity);
+		
+		final int mask = capacity - 1;
+		for(int i = 0; i < oldKeys.length; i++)
+		{
+			final long key = oldKeys[i];
+			if(key != FREE)
+			{
+				int slot = hash(key) & mask;
+				while(this.keys[slot] != FREE)
+				{
+					slot = slot + 1 & mask;
+				}
+				this.keys[slot] = key;
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+}
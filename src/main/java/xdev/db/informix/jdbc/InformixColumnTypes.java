@@ -0,0 +1,193 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.sql.Types;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.informix.jdbc.IfxDateTime;
+import com.informix.lang.IfxTypes;
+
+import xdev.db.DataType;
+
+
+/**
+ * Decode tables for <code>syscolumns.coltype</code> and <code>syscolumns.collength</code>. The driver mapping of
+ * all 256 base types and the qualifiers of all 256 <code>DATETIME</code> lengths are computed once, so decoding a
+ * column is a few array reads.
+ */
+final class InformixColumnTypes
+{
+	/**
+	 * Bit of <code>coltype</code> set for <code>NOT NULL</code> columns.
+	 */
+	private static final int NOT_NULL = 0x100;
+	
+	private static final int[] JDBC_TYPES = new int[256];
+	private static final DataType[] DATA_TYPES = new DataType[256];
+	private static final boolean[] AUTO_INCREMENT = new boolean[256];
+	private static final int[] DATETIME_QUALIFIERS = new int[256];
+	
+	static
+	{
+		for(int type = 0; type < DATA_TYPES.length; type++)
+		{
+			JDBC_TYPES[type] = Types.OTHER;
+			try
+			{
+				JDBC_TYPES[type] = IfxTypes.FromIfxToJDBCType((short)type);
+				DATA_TYPES[type] = DataType.get((short)JDBC_TYPES[type]);
+			}
+			catch(final RuntimeException e)
+			{
+				// not a column type, decoding it reports the error of the driver again
+			}
+			AUTO_INCREMENT[type] = DATA_TYPES[type] == DataType.INTEGER
+				&& (type == IfxTypes.IFX_TYPE_SERIAL || type == IfxTypes.IFX_TYPE_SERIAL8);
+		}
+		
+		for(int qualifier = 0; qualifier < DATETIME_QUALIFIERS.length; qualifier++)
+		{
+			DATETIME_QUALIFIERS[qualifier] = IfxDateTime.getStartCode((short)qualifier) * 16
+				+ IfxDateTime.getEndCode((short)qualifier);
+		}
+	}
+	
+	private InformixColumnTypes()
+	{
+	}
+	
+	static DataType getDataType(final int colType)
+	{
+		final int type = colType & 0xFF;
+		final DataType dataType = DATA_TYPES[type];
+		return dataType != null ? dataType : DataType.get((short)IfxTypes.FromIfxToJDBCType((short)type));
+	}
+	
+	static boolean isAutoIncrement(final int colType)
+	{
+		return AUTO_INCREMENT[colType & 0xFF];
+	}
+	
+	static boolean isNullable(final int colType)
+	{
+		return (colType & NOT_NULL) == 0;
+	}
+	
+	/**
+	 * @return the length of a column of the type <b>dataType</b>, precision for <code>DECIMAL</code>
+	 */
+	static int getLength(final DataType dataType, final int collength)
+	{
+		if(dataType == DataType.DECIMAL)
+		{
+			// the precision is in the high byte, unless it is a floating point decimal
+			return collength % 256 == 255 ? collength : collength / 256;
+		}
+		if(dataType == DataType.TIMESTAMP)
+		{
+			// the qualifiers are the low byte, the number of digits the high byte
+			return (collength - DATETIME_QUALIFIERS[collength & 0xFF]) / 256;
+		}
+		return collength;
+	}
+	
+	static int getScale(final DataType dataType, final int collength)
+	{
+		return dataType == DataType.DECIMAL ? collength % 256 : 0;
+	}
+	
+	/**
+	 * @return an SQL expression of the JDBC type of the column type <b>coltype</b>, for catalog queries whose rows
+	 *         are not decoded by {@link #getDataType(int)}
+	 */
+	static String getJdbcTypeSql(final String coltype)
+	{
+		final Map<Integer, StringBuilder> typesByJdbcType = new TreeMap<>();
+		for(int type = 0; type < DATA_TYPES.length; type++)
+		{
+			if(DATA_TYPES[type] != null)
+			{
+				final StringBuilder types = typesByJdbcType.get(JDBC_TYPES[type]);
+				if(types == null)
+				{
+					typesByJdbcType.put(JDBC_TYPES[type], new StringBuilder().append(type));
+				}
+				else
+				{
+					types.append(", ").append(type); //$NON-NLS-1$
+				}
+			}
+		}
+		
+		final String baseType = "MOD(" + coltype + ", 256)"; //$NON-NLS-1$ //$NON-NLS-2$
+		final StringBuilder sql = new StringBuilder(1024).append("CASE"); //$NON-NLS-1$
+		for(final Map.Entry<Integer, StringBuilder> entry : typesByJdbcType.entrySet())
+		{
+			sql.append(" WHEN ").append(baseType).append(" IN (").append(entry.getValue()) //$NON-NLS-1$ //$NON-NLS-2$
+				.append(") THEN ").append(entry.getKey()); //$NON-NLS-1$
+		}
+		return sql.append(" ELSE ").append(Types.OTHER).append(" END").toString(); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	
+	/**
+	 * @return an SQL expression of the length of a column like {@link #getLength(DataType, int)}, for catalog
+	 *         queries whose rows are not decoded by it
+	 */
+	static String getLengthSql(final String coltype, final String collength)
+	{
+		final String decimals = typesOf(DataType.DECIMAL);
+		final String timestamps = typesOf(DataType.TIMESTAMP);
+		
+		final String baseType = "MOD(" + coltype + ", 256)"; //$NON-NLS-1$ //$NON-NLS-2$
+		final String digits = "TRUNC(" + collength + " / 256)"; //$NON-NLS-1$ //$NON-NLS-2$
+		final StringBuilder sql = new StringBuilder(256).append("CASE"); //$NON-NLS-1$
+		if(decimals.length() > 0)
+		{
+			// floating point decimals have no precision byte
+			sql.append(" WHEN ").append(baseType).append(" IN (").append(decimals) //$NON-NLS-1$ //$NON-NLS-2$
+				.append(") THEN CASE WHEN MOD(").append(collength).append(", 256) = 255") //$NON-NLS-1$ //$NON-NLS-2$
+				.append(" THEN ").append(collength) //$NON-NLS-1$
+				.append(" ELSE ").append(digits).append(" END"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if(timestamps.length() > 0)
+		{
+			// the qualifiers are the low byte
+			sql.append(" WHEN ").append(baseType).append(" IN (").append(timestamps) //$NON-NLS-1$ //$NON-NLS-2$
+				.append(") THEN ").append(digits); //$NON-NLS-1$
+		}
+		return sql.append(" ELSE ").append(collength).append(" END").toString(); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	
+	/**
+	 * @return the base types decoded as <b>dataType</b>, separated by commas
+	 */
+	private static String typesOf(final DataType dataType)
+	{
+		final StringBuilder types = new StringBuilder();
+		for(int type = 0; type < DATA_TYPES.length; type++)
+		{
+			if(DATA_TYPES[type] == dataType)
+			{
+				types.append(types.length() > 0 ? ", " : "").append(type); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return types.toString();
+	}
+}
@@ -21,31 +21,135 @@ import static com.xdev.jadoth.sqlengine.internal.QueryPart.ASEXPRESSION;
 import static com.xdev.jadoth.sqlengine.internal.QueryPart.indent;
 import static com.xdev.jadoth.sqlengine.internal.QueryPart.isSingleLine;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
 import com.xdev.jadoth.sqlengine.SELECT;
 import com.xdev.jadoth.sqlengine.dbms.standard.StandardDMLAssembler;
 
 
 public class InformixDMLAssembler extends StandardDMLAssembler<InformixDbms>
 {
+	private static final int[] NO_ROW_LIMIT_PARAMETERS = new int[0];
+	
+	private volatile boolean rowLimitParameters;
+	
+	/**
+	 * Nesting depth of the <code>SELECT</code> assembled by the current thread, only the outermost one gets row limit
+	 * host variables.
+	 */
+	private final ThreadLocal<int[]> selectDepth = ThreadLocal.withInitial(() -> new int[1]);
+	
 	public InformixDMLAssembler(final InformixDbms dbms)
 	{
 		super(dbms);
 	}
 	
+	/**
+	 * @return <code>true</code> if <code>SKIP</code> and <code>FIRST</code> are assembled as host variables
+	 * @see #setRowLimitParameters(boolean)
+	 */
+	public boolean isRowLimitParameters()
+	{
+		return this.rowLimitParameters;
+	}
+	
+	/**
+	 * If enabled, the row limits are assembled as <code>SKIP ? FIRST ?</code> instead of literal values, so all
+	 * pages of a query share one statement text and the server can reuse its plan. The values have to be bound with
+	 * {@link #bindRowLimitParameters(SELECT, PreparedStatement, int)}, they are the first parameters of the
+	 * statement. Only the outermost <code>SELECT</code> is assembled this way, the limits of subqueries and appended
+	 * selects stay literal values.
+	 */
+	public void setRowLimitParameters(final boolean rowLimitParameters)
+	{
+		this.rowLimitParameters = rowLimitParameters;
+	}
+	
+	/**
+	 * @return the values of the row limit host variables of <b>query</b> in the order of their placeholders
+	 */
+	public static int[] getRowLimitParameters(final SELECT query)
+	{
+		final Integer offset = query.getOffsetSkipCount();
+		final Integer limit = query.getFetchFirstRowCount();
+		
+		if(offset != null && limit != null)
+		{
+			return new int[]{offset, limit};
+		}
+		else if(limit != null)
+		{
+			return new int[]{limit};
+		}
+		return NO_ROW_LIMIT_PARAMETERS;
+	}
+	
+	/**
+	 * Binds the row limits of <b>query</b> starting at <b>parameterIndex</b>.
+	 *
+	 * @return the index of the next parameter
+	 */
+	public static int bindRowLimitParameters(
+		final SELECT query, final PreparedStatement statement,
+		final int parameterIndex) throws SQLException
+	{
+		int index = parameterIndex;
+		for(final int value : getRowLimitParameters(query))
+		{
+			statement.setInt(index++, value);
+		}
+		return index;
+	}
+	
+	/**
+	 * Assembles a page of <b>select</b> in the order of <b>keyset</b>: the first page, or the page after the key
+	 * bound with {@link InformixKeyset#bind(PreparedStatement, int, Object...)}. <b>select</b> is used as a derived
+	 * table, so it must neither be ordered nor limited and has to select the key columns under their names.
+	 * <p>
+	 * The parameters are, in this order: the limit if {@link #isRowLimitParameters()}, the ones of <b>select</b> and
+	 * the ones of the keyset unless it is the first page.
+	 */
+	public String assembleKeysetSELECT(
+		final String select, final InformixKeyset keyset,
+		final int limit, final boolean firstPage)
+	{
+		final StringBuilder sb = new StringBuilder(select.length() + 128);
+		sb.append("SELECT FIRST "); //$NON-NLS-1$
+		appendRowLimit(sb, limit, this.rowLimitParameters)
+			.append(" * FROM (") //$NON-NLS-1$
+			.append(select)
+			.append(") keyset_page"); //$NON-NLS-1$
+		if(!firstPage)
+		{
+			sb.append(" WHERE ").append(keyset.getCondition()); //$NON-NLS-1$
+		}
+		return sb.append(" ORDER BY ").append(keyset.getOrderBy()).toString(); //$NON-NLS-1$
+	}
+	
 	@Override
 	protected StringBuilder assembleSELECT(
 		final SELECT query, final StringBuilder sb,
 		final int indentLevel, final int flags, final String clauseSeperator,
 		final String newLine)
 	{
-		indent(sb, indentLevel, isSingleLine(flags)).append(query.keyword());
-		this.assembleSelectRowLimit(query, sb, flags, clauseSeperator, newLine, indentLevel);
-		this.assembleSelectDISTINCT(query, sb, indentLevel, flags);
-		this.assembleSelectItems(query, sb, flags, indentLevel, newLine);
-		this.assembleSelectSqlClauses(query, sb, indentLevel, flags | ASEXPRESSION, clauseSeperator,
-			newLine);
-		this.assembleAppendSELECTs(query, sb, indentLevel, flags, clauseSeperator, newLine);
-		return sb;
+		final int[] depth = this.selectDepth.get();
+		depth[0]++;
+		try
+		{
+			indent(sb, indentLevel, isSingleLine(flags)).append(query.keyword());
+			this.assembleSelectRowLimit(query, sb, flags, clauseSeperator, newLine, indentLevel);
+			this.assembleSelectDISTINCT(query, sb, indentLevel, flags);
+			this.assembleSelectItems(query, sb, flags, indentLevel, newLine);
+			this.assembleSelectSqlClauses(query, sb, indentLevel, flags | ASEXPRESSION, clauseSeperator,
+				newLine);
+			this.assembleAppendSELECTs(query, sb, indentLevel, flags, clauseSeperator, newLine);
+			return sb;
+		}
+		finally
+		{
+			depth[0]--;
+		}
 	}
 	
 	@Override
@@ -56,23 +160,30 @@ public class InformixDMLAssembler extends StandardDMLAssembler<InformixDbms>
 	{
 		final Integer offset = query.getOffsetSkipCount();
 		final Integer limit = query.getFetchFirstRowCount();
+		// nested selects are not covered by getRowLimitParameters, so their limits are literals
+		final boolean parameters = this.rowLimitParameters && this.selectDepth.get()[0] <= 1;
 		
 		if(offset != null && limit != null)
 		{
 			sb.append(newLine)
 				.append(clauseSeperator)
-				.append("SKIP ")
-				.append(offset)
-				.append(" FIRST ")
-				.append(limit);
+				.append("SKIP ");
+			appendRowLimit(sb, offset, parameters)
+				.append(" FIRST ");
+			appendRowLimit(sb, limit, parameters);
 		}
 		else if(limit != null)
 		{
 			sb.append(newLine)
 				.append(clauseSeperator)
-				.append("FIRST ")
-				.append(limit);
+				.append("FIRST ");
+			appendRowLimit(sb, limit, parameters);
 		}
 		return sb;
 	}
+	
+	private static StringBuilder appendRowLimit(final StringBuilder sb, final int value, final boolean parameter)
+	{
+		return parameter ? sb.append('?') : sb.append(value);
+	}
 }
@@ -65,6 +65,11 @@ public class InformixDbms
 		this.dataSource = dataSource;
 	}
 	
+	InformixJDBCDataSource getDataSource()
+	{
+		return this.dataSource;
+	}
+	
 	/**
 	 * @see DbmsAdaptor#createConnectionInformation(String, int, String, String, String, String)
 	 */
@@ -92,15 +97,6 @@ public class InformixDbms
 		return null;
 	}
 	
-	/**
-	 * @see com.xdev.jadoth.sqlengine.dbms.DbmsAdaptor.Implementation#getRetrospectionAccessor()
-	 */
-	@Override
-	public InformixRetrospectionAccessor getRetrospectionAccessor()
-	{
-		throw new RuntimeException("HSQL Retrospection not implemented yet!");
-	}
-	
 	/**
 	 * @see com.xdev.jadoth.sqlengine.dbms.DbmsAdaptor#initialize(com.xdev.jadoth.sqlengine.internal.DatabaseGateway)
 	 */
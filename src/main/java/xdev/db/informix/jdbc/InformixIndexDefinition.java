@@ -0,0 +1,88 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import xdev.db.Index;
+import xdev.db.Index.IndexType;
+
+
+/**
+ * An index as stored in <code>sysindexes</code>, with its columns as column numbers (<code>part1</code> to
+ * <code>part16</code>) which are resolved to names when the {@link Index} is created.
+ */
+final class InformixIndexDefinition
+{
+	/**
+	 * The number of <code>partN</code> columns in <code>sysindexes</code>.
+	 */
+	static final int MAX_PARTS = 16;
+	
+	private final String name;
+	private final IndexType type;
+	private final short[] columnNumbers;
+	
+	InformixIndexDefinition(final String name, final IndexType type, final short[] columnNumbers)
+	{
+		this.name = name;
+		this.type = type;
+		this.columnNumbers = columnNumbers;
+	}
+	
+	String getName()
+	{
+		return this.name;
+	}
+	
+	IndexType getType()
+	{
+		return this.type;
+	}
+	
+	short[] getColumnNumbers()
+	{
+		return this.columnNumbers;
+	}
+	
+	/**
+	 * @param columnNames resolves a column number of the index' table to its name, <code>null</code> skips the column
+	 * @return the index, or <code>null</code> if none of its columns could be resolved
+	 */
+	Index toIndex(final IntFunction<String> columnNames)
+	{
+		final String[] columns = new String[this.columnNumbers.length];
+		int count = 0;
+		for(final short columnNumber : this.columnNumbers)
+		{
+			final String columnName = columnNames.apply(columnNumber);
+			if(columnName != null)
+			{
+				columns[count++] = columnName;
+			}
+		}
+		
+		if(count == 0)
+		{
+			return null;
+		}
+		
+		return new Index(this.name, this.type, count == columns.length ? columns : Arrays.copyOf(columns, count));
+	}
+}
@@ -17,14 +17,50 @@
  */
 package xdev.db.informix.jdbc;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import xdev.db.DBException;
 import xdev.db.jdbc.JDBCDataSource;
+import xdev.util.ProgressMonitor;
+import xdev.util.logging.LoggerFactory;
+import xdev.util.logging.XdevLogger;
 
 
 public class InformixJDBCDataSource extends JDBCDataSource<InformixJDBCDataSource, InformixDbms>
 {
 	public final static Parameter<String> INFORMIXSERVER;
 	
+	private static final XdevLogger LOGGER = LoggerFactory.getLogger(InformixJDBCDataSource.class);
+	/**
+	 * Delay before the snapshot is written, so a burst of metadata requests results in one write.
+	 */
+	private static final long SNAPSHOT_WRITE_DELAY_MILLIS = 2000;
+	
+	private final InformixMetaDataCache metaDataCache = new InformixMetaDataCache();
+	private volatile File metaDataSnapshotDirectory;
+	private final AtomicBoolean metaDataSnapshotLoaded = new AtomicBoolean();
+	private final AtomicBoolean metaDataSnapshotWritePending = new AtomicBoolean();
+	
+	private final InformixMetaDataStats metaDataStats = new InformixMetaDataStats();
+	private final List<InformixMetaDataListener> metaDataListeners = new CopyOnWriteArrayList<>();
+	private volatile boolean metaDataLogging;
+	private ObjectName metaDataMBeanName;
+	
+	private volatile boolean metaDataPrewarm;
+	private final AtomicBoolean metaDataPrewarmTriggered = new AtomicBoolean();
+	private final AtomicReference<InformixMetaDataPrewarm> metaDataPrewarmTask = new AtomicReference<>();
+	private final InformixRequestCoalescer requestCoalescer = new InformixRequestCoalescer(this);
+	
 	static
 	{
 		INFORMIXSERVER = new Parameter("INFORMIXSERVER", "informixserver");
@@ -34,6 +70,7 @@ public class InformixJDBCDataSource extends JDBCDataSource<InformixJDBCDataSourc
 	{
 		super(new InformixDbms());
 		this.getDbmsAdaptor().setDataSource(this);
+		this.metaDataCache.setChangeListener(this::scheduleMetaDataSnapshotWrite);
 	}
 	
 	@Override
@@ -76,7 +113,14 @@ public class InformixJDBCDataSource extends JDBCDataSource<InformixJDBCDataSourc
 	@Override
 	public InformixJDBCConnection openConnectionImpl() throws DBException
 	{
-		return new InformixJDBCConnection(this);
+		final InformixJDBCConnection connection = new InformixJDBCConnection(this);
+		// the trigger is consumed only if the pre-warm can start, a cache enabled later still gets it
+		if(this.metaDataPrewarm && this.metaDataCache.isEnabled()
+			&& this.metaDataPrewarmTriggered.compareAndSet(false, true))
+		{
+			this.startMetaDataPrewarm();
+		}
+		return connection;
 	}
 	
 	@Override
@@ -85,6 +129,275 @@ public class InformixJDBCDataSource extends JDBCDataSource<InformixJDBCDataSourc
 		return new InformixJDBCMetaData(this);
 	}
 	
+	/**
+	 * @return the metadata cache shared by all {@link InformixJDBCMetaData} instances of this data source
+	 */
+	public InformixMetaDataCache getMetaDataCache()
+	{
+		if(this.metaDataSnapshotDirectory != null && this.metaDataSnapshotLoaded.compareAndSet(false, true))
+		{
+			this.loadMetaDataSnapshot();
+		}
+		return this.metaDataCache;
+	}
+	
+	public File getMetaDataSnapshotDirectory()
+	{
+		return this.metaDataSnapshotDirectory;
+	}
+	
+	/**
+	 * Sets the directory for the persistent snapshot of the metadata cache, <code>null</code> (the default) disables
+	 * it. The snapshot is loaded on the first access of the cache and validated against the catalog before it
+	 * is used; changes of the cache are written back shortly after they happen.
+	 */
+	public void setMetaDataSnapshotDirectory(final File metaDataSnapshotDirectory)
+	{
+		this.metaDataSnapshotDirectory = metaDataSnapshotDirectory;
+	}
+	
+	private File getMetaDataSnapshotFile()
+	{
+		return InformixMetaDataSnapshot.getFile(this.metaDataSnapshotDirectory, this.getHost(),
+			this.getInformixServer(), this.getCatalog());
+	}
+	
+	private void loadMetaDataSnapshot()
+	{
+		final InformixMetaDataSnapshot snapshot;
+		try
+		{
+			snapshot = InformixMetaDataSnapshot.read(this.getMetaDataSnapshotFile());
+		}
+		catch(final IOException | RuntimeException e)
+		{
+			LOGGER.error("Cannot read metadata snapshot, starting with an empty cache", e); //$NON-NLS-1$
+			return;
+		}
+		
+		if(snapshot != null)
+		{
+			// validated like any other content before its first use, see InformixJDBCMetaData.getMetaDataCache()
+			this.metaDataCache.restore(snapshot);
+		}
+	}
+	
+	private void scheduleMetaDataSnapshotWrite()
+	{
+		if(this.metaDataSnapshotDirectory == null || !this.metaDataSnapshotWritePending.compareAndSet(false, true))
+		{
+			return;
+		}
+		
+		startDaemon("Informix metadata snapshot writer", () -> { //$NON-NLS-1$
+			try
+			{
+				Thread.sleep(SNAPSHOT_WRITE_DELAY_MILLIS);
+			}
+			catch(final InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			
+			this.metaDataSnapshotWritePending.set(false);
+			final InformixMetaDataSnapshot snapshot = this.metaDataCache.toSnapshot();
+			if(snapshot != null && this.metaDataSnapshotDirectory != null)
+			{
+				try
+				{
+					snapshot.write(this.getMetaDataSnapshotFile());
+				}
+				catch(final IOException | RuntimeException e)
+				{
+					LOGGER.error("Cannot write metadata snapshot", e); //$NON-NLS-1$
+				}
+			}
+		});
+	}
+	
+	public boolean isMetaDataPrewarm()
+	{
+		return this.metaDataPrewarm;
+	}
+	
+	/**
+	 * If enabled, the metadata cache is filled in the background (see {@link #startMetaDataPrewarm()}) once the
+	 * first connection is opened. Disabled by default.
+	 */
+	public void setMetaDataPrewarm(final boolean metaDataPrewarm)
+	{
+		this.metaDataPrewarm = metaDataPrewarm;
+	}
+	
+	/**
+	 * Starts to load the table infos, the table metadata and the stored procedures into the metadata cache on a
+	 * low priority daemon thread, unless such a load is already running or the cache is disabled. Metadata
+	 * requests arriving meanwhile wait for the running load instead of querying the catalog themselves.
+	 */
+	public void startMetaDataPrewarm()
+	{
+		if(!this.metaDataCache.isEnabled())
+		{
+			return;
+		}
+		
+		final InformixMetaDataPrewarm prewarm = new InformixMetaDataPrewarm(this);
+		if(this.metaDataPrewarmTask.compareAndSet(null, prewarm))
+		{
+			startDaemon("Informix metadata pre-warm", () -> { //$NON-NLS-1$
+				try
+				{
+					prewarm.run();
+				}
+				finally
+				{
+					this.metaDataPrewarmTask.compareAndSet(prewarm, null);
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Cancels a running pre-warm, requests waiting for it load on their own.
+	 */
+	public void cancelMetaDataPrewarm()
+	{
+		final InformixMetaDataPrewarm prewarm = this.metaDataPrewarmTask.getAndSet(null);
+		if(prewarm != null)
+		{
+			prewarm.cancel();
+		}
+	}
+	
+	public boolean isMetaDataPrewarmRunning()
+	{
+		return this.metaDataPrewarmTask.get() != null;
+	}
+	
+	/**
+	 * Waits until a running pre-warm finished <b>phase</b>, see
+	 * {@link InformixMetaDataPrewarm#await(InformixMetaDataPrewarm.Phase, ProgressMonitor)}.
+	 */
+	void awaitMetaDataPrewarm(final InformixMetaDataPrewarm.Phase phase, final ProgressMonitor monitor)
+	{
+		final InformixMetaDataPrewarm prewarm = this.metaDataPrewarmTask.get();
+		if(prewarm != null)
+		{
+			prewarm.await(phase, monitor);
+		}
+	}
+	
+	InformixRequestCoalescer getRequestCoalescer()
+	{
+		return this.requestCoalescer;
+	}
+	
+	/**
+	 * @return the statistics accumulated over all table metadata requests of this data source
+	 */
+	public InformixMetaDataStats getMetaDataStats()
+	{
+		return this.metaDataStats;
+	}
+	
+	public void addMetaDataListener(final InformixMetaDataListener listener)
+	{
+		this.metaDataListeners.add(listener);
+	}
+	
+	public void removeMetaDataListener(final InformixMetaDataListener listener)
+	{
+		this.metaDataListeners.remove(listener);
+	}
+	
+	public boolean isMetaDataLogging()
+	{
+		return this.metaDataLogging;
+	}
+	
+	/**
+	 * If enabled, the {@link InformixMetaDataStatistics} of every table metadata request are logged as one line.
+	 */
+	public void setMetaDataLogging(final boolean metaDataLogging)
+	{
+		this.metaDataLogging = metaDataLogging;
+	}
+	
+	/**
+	 * Registers {@link #getMetaDataStats()} with the platform MBean server as
+	 * <code>xdev.db.informix:type=MetaDataStats,name=&lt;data source name&gt;</code>.
+	 */
+	public synchronized void registerMetaDataMBean() throws DBException
+	{
+		if(this.metaDataMBeanName != null)
+		{
+			return;
+		}
+		
+		final String name = this.getName() != null ? this.getName() : String.valueOf(System.identityHashCode(this));
+		try
+		{
+			final ObjectName objectName = new ObjectName("xdev.db.informix:type=MetaDataStats,name=" //$NON-NLS-1$
+				+ ObjectName.quote(name));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this.metaDataStats, objectName);
+			this.metaDataMBeanName = objectName;
+		}
+		catch(final JMException e)
+		{
+			throw new DBException(this, "Cannot register metadata MBean", e); //$NON-NLS-1$
+		}
+	}
+	
+	public synchronized void unregisterMetaDataMBean() throws DBException
+	{
+		if(this.metaDataMBeanName == null)
+		{
+			return;
+		}
+		
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try
+		{
+			if(server.isRegistered(this.metaDataMBeanName))
+			{
+				server.unregisterMBean(this.metaDataMBeanName);
+			}
+			this.metaDataMBeanName = null;
+		}
+		catch(final JMException e)
+		{
+			throw new DBException(this, "Cannot unregister metadata MBean", e); //$NON-NLS-1$
+		}
+	}
+	
+	void fireMetaDataLoaded(final InformixMetaDataStatistics statistics)
+	{
+		this.metaDataStats.metaDataLoaded(statistics);
+		for(final InformixMetaDataListener listener : this.metaDataListeners)
+		{
+			try
+			{
+				listener.metaDataLoaded(statistics);
+			}
+			catch(final RuntimeException e)
+			{
+				LOGGER.error("Metadata listener failed", e); //$NON-NLS-1$
+			}
+		}
+		if(this.metaDataLogging)
+		{
+			LOGGER.info(statistics.toString());
+		}
+	}
+	
+	private static void startDaemon(final String name, final Runnable runnable)
+	{
+		final Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+	
 	@Override
 	public boolean canExport()
 	{
@@ -19,24 +19,28 @@ package xdev.db.informix.jdbc;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.StringTokenizer;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
 
-import com.informix.jdbc.IfxConnection;
-import com.informix.jdbc.IfxDateTime;
-import com.informix.jdbc.IfxStatement;
-import com.informix.lang.IfxTypes;
 import com.xdev.jadoth.sqlengine.interfaces.ConnectionProvider;
 
 import xdev.db.ColumnMetaData;
@@ -44,16 +48,12 @@ import xdev.db.DBException;
 import xdev.db.DataType;
 import xdev.db.Index;
 import xdev.db.Index.IndexType;
-import xdev.db.Result;
 import xdev.db.StoredProcedure;
 import xdev.db.StoredProcedure.Param;
 import xdev.db.StoredProcedure.ParamType;
 import xdev.db.StoredProcedure.ReturnTypeFlavor;
 import xdev.db.jdbc.JDBCConnection;
 import xdev.db.jdbc.JDBCMetaData;
-import xdev.db.sql.Functions;
-import xdev.db.sql.SELECT;
-import xdev.db.sql.Table;
 import xdev.util.ProgressMonitor;
 import xdev.util.logging.LoggerFactory;
 import xdev.util.logging.XdevLogger;
@@ -67,8 +67,53 @@ public class InformixJDBCMetaData extends JDBCMetaData
 {
 	
 	private static final XdevLogger LOGGER = LoggerFactory.getLogger(InformixJDBCMetaData.class);
-	private HashMap<String, String> synMap;
-	private boolean isGetSynonym;
+	/**
+	 * Maximum number of bind variables in one IN-list of a catalog query.
+	 */
+	private static final int CATALOG_IN_LIST_CHUNK_SIZE = 256;
+	private static final String PROCEDURE_FILTER = "NOT SP.mode = 'd' AND NOT SP.mode = 'r'" //$NON-NLS-1$
+		+ " AND SP.procid > 452"; //$NON-NLS-1$
+	private static final String PROCEDURE_ROWS_SQL = "SELECT SP.procid, SP.owner, SP.procname, SP.isproc," //$NON-NLS-1$
+		+ " SP.numargs, SP.retsize, SP.symsize, SP.datasize, SP.codesize" //$NON-NLS-1$
+		+ " FROM informix.sysprocedures SP WHERE "; //$NON-NLS-1$
+	private static final String PROCEDURE_DETAILS_SQL = "SELECT SP.procid," //$NON-NLS-1$
+		+ " ifx_param_types(SP.procid), ifx_param_ids(SP.procid)," //$NON-NLS-1$
+		+ " ifx_ret_types(SP.procid), ifx_ret_ids(SP.procid)" //$NON-NLS-1$
+		+ " FROM informix.sysprocedures SP WHERE "; //$NON-NLS-1$
+	private static final String PROCEDURE_PARAMS_SQL = "SELECT SPC.procid, SPC.paramname" //$NON-NLS-1$
+		+ " FROM informix.sysprocedures SP" //$NON-NLS-1$
+		+ " INNER JOIN informix.sysproccolumns SPC ON SPC.procid = SP.procid" //$NON-NLS-1$
+		+ " WHERE SPC.paramname IS NOT NULL AND "; //$NON-NLS-1$
+	private static final String RELATIONSHIPS_SELECT = createRelationshipsSelect();
+	private static final int DEFAULT_ROW_COUNT_PARALLELISM = Math.min(4,
+		Runtime.getRuntime().availableProcessors());
+	private static final int DEFAULT_TABLE_INFO_FETCH_SIZE = 1000;
+	private static final int DEFAULT_LAZY_BATCH_SIZE = 32;
+	private static final Index[] NO_INDICES = new Index[0];
+	
+	/*
+	 * Column positions of the catalog query of createTableMetaDataSelect.
+	 */
+	private static final int CATALOG_TABNAME = 1;
+	private static final int CATALOG_TABTYPE = 2;
+	private static final int CATALOG_COLNO = 3;
+	private static final int CATALOG_COLNAME = 4;
+	private static final int CATALOG_DEFAULT = 8;
+	private static final int CATALOG_TABID = 12;
+	private static final int CATALOG_NROWS = 13;
+	
+	/**
+	 * <code>systables.nrows</code>, <code>NULL</code> for a table without statistics: its <code>nrows</code> is
+	 * <code>0</code> until the first <code>UPDATE STATISTICS</code>, which sets <code>ustlowts</code>.
+	 */
+	private static final String NROWS_SQL = "CASE WHEN T.ustlowts IS NULL THEN NULL ELSE T.nrows END"; //$NON-NLS-1$
+	
+	private volatile InformixRowCountStrategy rowCountStrategy = InformixRowCountStrategy.STATISTICS;
+	private volatile InformixRowCountStrategy tableRowCountStrategy = InformixRowCountStrategy.EXACT;
+	private volatile int rowCountParallelism = DEFAULT_ROW_COUNT_PARALLELISM;
+	private volatile int rowCountTimeout;
+	private volatile int tableInfoFetchSize = DEFAULT_TABLE_INFO_FETCH_SIZE;
+	private volatile int lazyBatchSize = DEFAULT_LAZY_BATCH_SIZE;
 	
 	public InformixJDBCMetaData(final InformixJDBCDataSource dataSource) throws DBException
 	{
@@ -76,66 +121,130 @@ public class InformixJDBCMetaData extends JDBCMetaData
 	}
 	
 	/**
-	 * @return {@link xdev.db.DBMetaData.TableType#TABLE}   || {@link xdev.db.DBMetaData.TableType#VIEW}    ||
-	 * {@link xdev.db.DBMetaData.TableType#SYNONYM} || {@link xdev.db.DBMetaData.TableType#OTHER}
+	 * @return the strategy used to determine row counts when loading the metadata of several tables at once
 	 */
-	private static TableType identifyCorrectTableType(final String tableTypeName)
+	public InformixRowCountStrategy getRowCountStrategy()
 	{
-		final TableType type;
-		if(tableTypeName != null
-			&& tableTypeName.equalsIgnoreCase(TableType.TABLE.name()))
-		{
-			type = TableType.TABLE;
-		}
-		else if(tableTypeName != null
-			&& tableTypeName.equalsIgnoreCase(TableType.VIEW.name()))
-		{
-			type = TableType.VIEW;
-		}
-		else if(tableTypeName != null
-			&& tableTypeName.equalsIgnoreCase(TableType.SYNONYM.name()))
-		{
-			type = TableType.SYNONYM;
-		}
-		else
-		{
-			type = TableType.OTHER;
-		}
-		return type;
+		return this.rowCountStrategy;
+	}
+	
+	/**
+	 * Sets the strategy used to determine row counts when loading the metadata of several tables at once. Defaults
+	 * to {@link InformixRowCountStrategy#STATISTICS}.
+	 */
+	public void setRowCountStrategy(final InformixRowCountStrategy rowCountStrategy)
+	{
+		this.rowCountStrategy = rowCountStrategy;
+	}
+	
+	/**
+	 * @return the strategy used to determine the row count when loading the metadata of a single table
+	 */
+	public InformixRowCountStrategy getTableRowCountStrategy()
+	{
+		return this.tableRowCountStrategy;
+	}
+	
+	/**
+	 * Sets the strategy used to determine the row count when loading the metadata of a single table. Defaults to
+	 * {@link InformixRowCountStrategy#EXACT}.
+	 */
+	public void setTableRowCountStrategy(final InformixRowCountStrategy tableRowCountStrategy)
+	{
+		this.tableRowCountStrategy = tableRowCountStrategy;
+	}
+	
+	/**
+	 * @return the maximum number of tables counted concurrently with {@link InformixRowCountStrategy#EXACT}
+	 */
+	public int getRowCountParallelism()
+	{
+		return this.rowCountParallelism;
+	}
+	
+	/**
+	 * Sets the maximum number of tables counted concurrently with {@link InformixRowCountStrategy#EXACT}. Every
+	 * concurrent count uses its own connection of the data source.
+	 */
+	public void setRowCountParallelism(final int rowCountParallelism)
+	{
+		this.rowCountParallelism = rowCountParallelism;
+	}
+	
+	/**
+	 * @return the query timeout in seconds for the count of a single table, <code>0</code> for none
+	 */
+	public int getRowCountTimeout()
+	{
+		return this.rowCountTimeout;
+	}
+	
+	/**
+	 * Sets the query timeout in seconds for the count of a single table. A table exceeding it gets an unknown row
+	 * count, the other tables are still counted.
+	 */
+	public void setRowCountTimeout(final int rowCountTimeout)
+	{
+		this.rowCountTimeout = rowCountTimeout;
+	}
+	
+	/**
+	 * @return the number of rows fetched per round trip when listing the tables
+	 */
+	public int getTableInfoFetchSize()
+	{
+		return this.tableInfoFetchSize;
+	}
+	
+	/**
+	 * Sets the number of rows fetched per round trip by {@link #getTableInfos(ProgressMonitor, EnumSet)},
+	 * <code>0</code> for the default of the driver.
+	 */
+	public void setTableInfoFetchSize(final int tableInfoFetchSize)
+	{
+		this.tableInfoFetchSize = tableInfoFetchSize;
+	}
+	
+	/**
+	 * @return the number of tables loaded together by the skeletons of {@link #getLazyTableMetaData}
+	 */
+	public int getLazyBatchSize()
+	{
+		return this.lazyBatchSize;
+	}
+	
+	/**
+	 * Sets the number of neighbouring tables which are loaded together when a skeleton of
+	 * {@link #getLazyTableMetaData} is accessed first.
+	 */
+	public void setLazyBatchSize(final int lazyBatchSize)
+	{
+		this.lazyBatchSize = lazyBatchSize;
 	}
 	
 	/**
-	 * Checks the <b>paramTypes</b> on position <b> i </b> to add one of the following ParamTypes to the list
-	 * <b>params</b>
+	 * Checks the <b>paramType</b> to create a parameter of one of the following ParamTypes
 	 * <ol>
 	 *     <li>{@link ParamType#OUT}    </li>
 	 *     <li>{@link ParamType#IN_OUT} </li>
 	 *     <li>{@link ParamType#IN}     </li>
 	 * </ol>
 	 */
-	private static void addParamAccordingToParamType(
-		final List<String> paramTypes,
-		final List<Integer> paramIds,
-		final List<Param> params,
-		final int i,
-		final String paramName)
+	private static Param createParam(final String paramType, final int jdbcType, final String paramName)
 	{
-		final DataType dataType = DataType.get(paramIds.get(i));
+		final DataType dataType = DataType.get(jdbcType);
 		
-		if(paramTypes.get(i).startsWith("out ") //$NON-NLS-1$
-			|| paramTypes.get(i).startsWith("OUT ")) //$NON-NLS-1$
+		if(paramType.startsWith("out ") //$NON-NLS-1$
+			|| paramType.startsWith("OUT ")) //$NON-NLS-1$
 		{
-			params.add(new Param(ParamType.OUT, paramName, dataType));
+			return new Param(ParamType.OUT, paramName, dataType);
 		}
-		else if(paramTypes.get(i).startsWith("inout ") //$NON-NLS-1$
-			|| paramTypes.get(i).startsWith("INOUT ")) //$NON-NLS-1$
+		else if(paramType.startsWith("inout ") //$NON-NLS-1$
+			|| paramType.startsWith("INOUT ")) //$NON-NLS-1$
 		{
-			params.add(new Param(ParamType.IN_OUT, paramName, dataType));
-		}
-		else
-		{
-			params.add(new Param(ParamType.IN, paramName, dataType));
+			return new Param(ParamType.IN_OUT, paramName, dataType);
 		}
+		return new Param(ParamType.IN, paramName, dataType);
 	}
 	
 	/**
@@ -149,6 +258,43 @@ public class InformixJDBCMetaData extends JDBCMetaData
 	@Override
 	public TableInfo[] getTableInfos(final ProgressMonitor monitor, final EnumSet<TableType> types)
 		throws DBException
+	{
+		if(InformixMetaDataPrewarm.covers(types))
+		{
+			this.awaitPrewarm(InformixMetaDataPrewarm.Phase.TABLE_INFOS, monitor);
+		}
+		return this.coalesce("tableInfos:" + types, monitor, TableInfo[]::clone, //$NON-NLS-1$
+			() -> this.getCachedTableInfos(monitor, types));
+	}
+	
+	private TableInfo[] getCachedTableInfos(final ProgressMonitor monitor, final EnumSet<TableType> types)
+		throws DBException
+	{
+		final InformixMetaDataCache cache = this.getMetaDataCache();
+		if(cache == null)
+		{
+			return this.loadTableInfos(monitor, types);
+		}
+		
+		final String key = "tableInfos:" + types; //$NON-NLS-1$
+		TableInfo[] tables = (TableInfo[])cache.getResult(key);
+		if(tables == null)
+		{
+			tables = this.loadTableInfos(monitor, types);
+			if(!monitor.isCanceled())
+			{
+				cache.putResult(key, tables);
+			}
+		}
+		return tables;
+	}
+	
+	/**
+	 * Scans <code>systables</code> directly, the user tables are filtered and ordered by the server. Cancelling
+	 * the monitor cancels the statement, so the server stops sending rows.
+	 */
+	private TableInfo[] loadTableInfos(final ProgressMonitor monitor, final EnumSet<TableType> types)
+		throws DBException
 	{
 		monitor.beginTask("", ProgressMonitor.UNKNOWN); //$NON-NLS-1$
 		
@@ -159,24 +305,40 @@ public class InformixJDBCMetaData extends JDBCMetaData
 			try(final JDBCConnection jdbcConnection = (JDBCConnection)this.dataSource.openConnection())
 			{
 				final Connection connection = jdbcConnection.getConnection();
-				final DatabaseMetaData meta = connection.getMetaData();
-				final String catalog = this.getCatalog(this.dataSource);
 				final String schema = this.getSchema(this.dataSource);
-				final String[] castTypes = this.castEnumSetToStringArray(types);
-				final ResultSet rs = meta.getTables(catalog, schema, null, castTypes);
 				
-				while(rs.next() && !monitor.isCanceled())
+				// not cached: the fetch size is set and the statement may get cancelled
+				try(final PreparedStatement statement = connection.prepareStatement(
+					createTableInfosSelect(types, schema != null)))
 				{
-					final String tableTypeName = rs.getString("TABLE_TYPE"); //$NON-NLS-1$
-					final TableType type = identifyCorrectTableType(tableTypeName);
+					if(schema != null)
+					{
+						statement.setString(1, schema);
+					}
+					if(this.tableInfoFetchSize > 0)
+					{
+						statement.setFetchSize(this.tableInfoFetchSize);
+					}
 					
-					if(types.contains(type))
+					try(final ResultSet rs = statement.executeQuery())
 					{
-						// no schema (== null)
-						list.add(new TableInfo(type, null, rs.getString("TABLE_NAME"))); //$NON-NLS-1$
+						while(rs.next())
+						{
+							if(monitor.isCanceled())
+							{
+								statement.cancel();
+								break;
+							}
+							
+							final TableType type = this.getTableType(rs.getString(2));
+							if(types.contains(type))
+							{
+								// no schema (== null)
+								list.add(new TableInfo(type, null, rs.getString(1)));
+							}
+						}
 					}
 				}
-				rs.close();
 			}
 		}
 		catch(final SQLException e)
@@ -187,352 +349,615 @@ public class InformixJDBCMetaData extends JDBCMetaData
 		monitor.done();
 		
 		final TableInfo[] tables = list.toArray(new TableInfo[list.size()]);
-		Arrays.sort(tables);
+		if(!isSorted(tables))
+		{
+			// the collation of the server may differ from TableInfo's order
+			Arrays.sort(tables);
+		}
 		return tables;
 	}
 	
+	private static String createTableInfosSelect(final EnumSet<TableType> types, final boolean filterOwner)
+	{
+		final StringBuilder sql = new StringBuilder(
+			"SELECT T.tabname, T.tabtype FROM informix.systables T WHERE T.tabid > 99"); //$NON-NLS-1$
+		if(!types.contains(TableType.OTHER))
+		{
+			// TABLE, VIEW and SYNONYM are stored as their initial
+			sql.append(" AND T.tabtype IN ('-'"); //$NON-NLS-1$
+			for(final TableType type : types)
+			{
+				sql.append(", '").append(type.name().charAt(0)).append('\''); //$NON-NLS-1$
+			}
+			sql.append(')');
+		}
+		if(filterOwner)
+		{
+			sql.append(" AND TRIM(T.owner) = ?"); //$NON-NLS-1$
+		}
+		return sql.append(" ORDER BY T.tabname").toString(); //$NON-NLS-1$
+	}
+	
+	private static boolean isSorted(final TableInfo[] tables)
+	{
+		for(int i = 1; i < tables.length; i++)
+		{
+			if(tables[i - 1].compareTo(tables[i]) > 0)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Reads the columns with their defaults and, if requested, the indices of one table with a single catalog query.
+	 * A synonym is resolved to its base table, a chain of synonyms needs further round trips. Without a schema the
+	 * name is resolved like an unqualified name in a statement: a table of the current user wins, any other
+	 * ambiguity is an error. Row counts follow the {@link #getTableRowCountStrategy() strategy}, only
+	 * {@link InformixRowCountStrategy#LIVE} and {@link InformixRowCountStrategy#EXACT} need another round trip.
+	 */
 	@Override
 	protected TableMetaData getTableMetaData(
 		final JDBCConnection jdbcConnection, final DatabaseMetaData meta,
 		final int flags, final TableInfo table) throws DBException, SQLException
 	{
-		final String catalog = this.getCatalog(this.dataSource);
 		final String schema = this.getSchema(this.dataSource);
-		
 		final String tableName = table.getName();
-		final Table tableIdentity = new Table(tableName, "META_DUMMY"); //$NON-NLS-1$
-		
-		final Map<String, Object> defaultValues = new HashMap<>();
-		final Map<String, Integer> columnSizes = new HashMap<>();
-		
-		ResultSet rs = meta.getColumns(catalog, schema, tableName, null);
-		
-		while(rs.next())
-		{
-			final String columnName = rs.getString("COLUMN_NAME"); //$NON-NLS-1$
-			defaultValues.put(columnName, rs.getObject("COLUMN_DEF")); //$NON-NLS-1$
-			columnSizes.put(columnName, rs.getInt("COLUMN_SIZE")); //$NON-NLS-1$
-		}
-		rs.close();
-		
-		final SELECT select = new SELECT().FROM(tableIdentity).WHERE("1 = 0"); //$NON-NLS-1$
-		Result result = jdbcConnection.query(select);
-		final int cc = result.getColumnCount();
-		final ColumnMetaData[] columns = new ColumnMetaData[cc];
-		
-		for(int i = 0; i < cc; i++)
-		{
-			this.fillMetaDataColumns(tableName, defaultValues, columnSizes, result, columns, i);
-		}
-		result.close();
-		
-		final Map<IndexInfo, Set<String>> indexMap = new HashMap<>();
-		int count = UNKNOWN_ROW_COUNT;
+		final boolean isTable = table.getType() == TableType.TABLE;
+		final boolean indices = isTable && (flags & INDICES) != 0;
+		final Connection connection = jdbcConnection.getConnection();
 		
-		if(table.getType() == TableType.TABLE)
+		final InformixMetaDataStatistics statistics = new InformixMetaDataStatistics("tables"); //$NON-NLS-1$
+		try(final InformixStatementCache statements = InformixStatementCache.of(connection))
 		{
-			if((flags & INDICES) != 0)
+			PreparedStatement statement = statements.prepare(createSingleTableSelect(
+				tableNameCondition(schema != null), indices));
+			int index = 1;
+			for(int part = indices ? 2 : 1; part > 0; part--)
 			{
-				final Set<String> primaryKeyColumns = new HashSet<>();
-				
-				try
-				{
-					rs = meta.getPrimaryKeys(catalog, schema, tableName);
-					while(rs.next())
-					{
-						primaryKeyColumns.add(rs.getString("COLUMN_NAME")); //$NON-NLS-1$
-					}
-					rs.close();
-				}
-				catch(final Exception e)
+				statement.setString(index++, tableName);
+				if(schema != null)
 				{
-					// no rights to read system table
-					e.printStackTrace();
+					statement.setString(index++, schema);
 				}
-				
-				if(!primaryKeyColumns.isEmpty())
-				{
-					indexMap.put(
-						new IndexInfo("PRIMARY_KEY", IndexType.PRIMARY_KEY), //$NON-NLS-1$
-						primaryKeyColumns);
-				}
-				
-				rs = meta.getIndexInfo(catalog, schema, tableName, false, true);
-				while(rs.next())
+			}
+			
+			long start = System.nanoTime();
+			int tabid = -1;
+			int estimate = UNKNOWN_ROW_COUNT;
+			final List<ColumnMetaData> columns = new ArrayList<>();
+			final InformixColumnKeyMap columnNames = new InformixColumnKeyMap();
+			final List<InformixIndexDefinition> definitions = new ArrayList<>();
+			for(boolean chained = false; statement != null; chained = true)
+			{
+				statistics.addRoundTrip(InformixMetaDataPhase.TABLES);
+				try(final ResultSet rs = statement.executeQuery())
 				{
-					final String indexName = rs.getString("INDEX_NAME"); //$NON-NLS-1$
-					final String columnName = rs.getString("COLUMN_NAME"); //$NON-NLS-1$
-					if(indexName != null
-						&& columnName != null
-						&& !primaryKeyColumns.contains(columnName))
+					final short[] parts = new short[InformixIndexDefinition.MAX_PARTS];
+					while(rs.next())
 					{
-						final boolean unique = !rs.getBoolean("NON_UNIQUE"); //$NON-NLS-1$
-						final IndexInfo info = new IndexInfo(indexName, unique ? IndexType.UNIQUE
-							: IndexType.NORMAL);
-						Set<String> columnNames = indexMap.get(info);
-						if(columnNames == null)
+						final int rowTabid = rs.getInt(1);
+						if(tabid == -1)
+						{
+							tabid = rowTabid;
+							estimate = readRowCountEstimate(rs, 3, table.getType());
+						}
+						else if(rowTabid != tabid)
+						{
+							throw new DBException(this.dataSource, "Ambiguous table name " + tableName); //$NON-NLS-1$
+						}
+						
+						statistics.addRows(InformixMetaDataPhase.PARSE, 1);
+						if(rs.getInt(2) == 0)
+						{
+							final ColumnMetaData column = readColumn(rs, tableName, 5, 8);
+							columns.add(column);
+							columnNames.put(0, rs.getShort(4), column.getName());
+						}
+						else
 						{
-							columnNames = new HashSet<>();
-							indexMap.put(info, columnNames);
+							final InformixIndexDefinition definition = readIndexDefinition(rs, 5, 9, 8, 10, parts);
+							if(definition.getType() == IndexType.PRIMARY_KEY)
+							{
+								definitions.add(0, definition);
+							}
+							else
+							{
+								definitions.add(definition);
+							}
 						}
-						columnNames.add(columnName);
 					}
 				}
-				rs.close();
+				
+				// nothing found: maybe a synonym of a synonym, the query resolves one level only
+				statement = tabid == -1 && !chained
+					? prepareBaseTableSelect(statements, tableName, schema, indices, statistics) : null;
 			}
+			statistics.addWallTime(InformixMetaDataPhase.PARSE, start);
+			statistics.addObjects(InformixMetaDataPhase.PARSE, columns.size());
+			
+			final List<Index> indexList = this.toIndices(definitions, columnNumber -> columnNames.get(0,
+				columnNumber));
+			statistics.addObjects(InformixMetaDataPhase.INDICES, indexList.size());
 			
-			if((flags & ROW_COUNT) != 0)
+			start = System.nanoTime();
+			final InformixRowCountStrategy strategy = this.tableRowCountStrategy;
+			int count = UNKNOWN_ROW_COUNT;
+			if(isTable && tabid != -1 && (flags & ROW_COUNT) != 0)
 			{
-				try
-				{
-					result = jdbcConnection.query(new SELECT().columns(Functions.COUNT()).FROM(
-						tableIdentity));
-					if(result.next())
-					{
-						count = result.getInt(0);
-					}
-					result.close();
-				}
-				catch(final Exception e)
-				{
-					e.printStackTrace();
-				}
+				count = this.countRows(statements, strategy, tableName, tabid, estimate, statistics);
 			}
+			statistics.addWallTime(InformixMetaDataPhase.ROW_COUNTS, start);
+			
+			return new InformixTableMetaData(table, columns.toArray(new ColumnMetaData[columns.size()]),
+				indexList.isEmpty() ? NO_INDICES : indexList.toArray(new Index[indexList.size()]), count,
+				strategy == InformixRowCountStrategy.EXACT && count != UNKNOWN_ROW_COUNT);
 		}
-		
-		final Index[] indices = new Index[indexMap.size()];
-		int i = 0;
-		for(final IndexInfo indexInfo : indexMap.keySet())
+		catch(final SQLException | DBException e)
 		{
-			final Set<String> columnList = indexMap.get(indexInfo);
-			final String[] indexColumns = columnList.toArray(new String[columnList.size()]);
-			indices[i++] = new Index(indexInfo.name, indexInfo.type, indexColumns);
+			statistics.setFailed();
+			throw e;
+		}
+		catch(final Exception e)
+		{
+			statistics.setFailed();
+			throw new DBException(this.dataSource, "Cannot read metadata of " + tableName, e); //$NON-NLS-1$
+		}
+		finally
+		{
+			((InformixJDBCDataSource)this.dataSource).fireMetaDataLoaded(statistics);
 		}
-		
-		return new TableMetaData(table, columns, indices, count);
 	}
 	
-	private void fillMetaDataColumns(
-		final String tableName,
-		final Map<String, Object> defaultValues,
-		final Map<String, Integer> columnSizes,
-		final Result result,
-		final ColumnMetaData[] columns,
-		final int i)
+	/**
+	 * @return the row count of the table <b>tabid</b> according to <b>strategy</b>
+	 */
+	private int countRows(
+		final InformixStatementCache statements, final InformixRowCountStrategy strategy,
+		final String tableName, final int tabid, final int estimate,
+		final InformixMetaDataStatistics statistics) throws SQLException
 	{
-		final ColumnMetaData column = result.getMetadata(i);
-		final String name = column.getName();
-		
-		Object defaultValue = column.getDefaultValue();
-		if(defaultValue == null && defaultValues.containsKey(name))
+		if(strategy == InformixRowCountStrategy.LIVE)
 		{
-			defaultValue = defaultValues.get(name);
+			final Integer liveCount = this.loadLiveRowCounts(statements, Collections.singletonList(tabid),
+				statistics).get(String.valueOf(tabid));
+			return liveCount != null ? liveCount : UNKNOWN_ROW_COUNT;
 		}
-		defaultValue = this.checkDefaultValue(defaultValue, column);
-		
-		int length = column.getLength();
-		if(length == 0 && columnSizes.containsKey(name))
+		if(strategy == InformixRowCountStrategy.EXACT)
 		{
-			final DataType type = column.getType();
-			if(type.isBlob() || type.isString())
+			statistics.addRoundTrip(InformixMetaDataPhase.ROW_COUNTS);
+			// not cached: every table would add a statement of its own
+			try(final Statement statement = statements.getConnection().createStatement();
+				final ResultSet rs = statement.executeQuery("select count(*) from " + tableName)) //$NON-NLS-1$
+			{
+				return rs.next() ? rs.getInt(1) : UNKNOWN_ROW_COUNT;
+			}
+			catch(final SQLException e)
 			{
-				length = columnSizes.get(name);
+				LOGGER.error("Cannot calculate row count of " + tableName, e); //$NON-NLS-1$
+				return UNKNOWN_ROW_COUNT;
 			}
 		}
-		
-		columns[i] = new ColumnMetaData(
-			tableName,
-			name,
-			column.getCaption(),
-			column.getType(),
-			length,
-			column.getScale(),
-			defaultValue,
-			column.isNullable(),
-			column.isAutoIncrement()
-		);
+		return estimate;
 	}
 	
 	/**
-	 * @author XDEV Software (MP)
-	 * @since 4.0
+	 * Follows a chain of synonyms from <b>tableName</b> to its base table.
+	 * 
+	 * @return the select of the base table with its tabid bound, or <code>null</code> if <b>tableName</b> is no
+	 *         synonym
 	 */
-	@Override
-	public StoredProcedure[] getStoredProcedures(final ProgressMonitor monitor) throws DBException
+	private static PreparedStatement prepareBaseTableSelect(
+		final InformixStatementCache statements, final String tableName, final String schema,
+		final boolean indices, final InformixMetaDataStatistics statistics) throws SQLException
 	{
-		monitor.beginTask("", ProgressMonitor.UNKNOWN); //$NON-NLS-1$
-		
-		final List<StoredProcedure> list = new ArrayList<>();
+		PreparedStatement statement = statements.prepare("SELECT S.btabid FROM informix.systables X" //$NON-NLS-1$
+			+ " INNER JOIN informix.syssyntable S ON S.tabid = X.tabid WHERE " //$NON-NLS-1$
+			+ tableNameFilter(schema != null));
+		statement.setString(1, tableName);
+		if(schema != null)
+		{
+			statement.setString(2, schema);
+		}
 		
-		try
+		final Set<Integer> visited = new HashSet<>();
+		int tabid = -1;
+		for(;;)
 		{
-			final ConnectionProvider<?> connectionProvider = this.dataSource.getConnectionProvider();
-			
-			try(final Connection connection = connectionProvider.getConnection())
+			statistics.addRoundTrip(InformixMetaDataPhase.TABLES);
+			int baseTabid = -1;
+			try(final ResultSet rs = statement.executeQuery())
 			{
-				connection.setReadOnly(false);
-				final DatabaseMetaData meta = connection.getMetaData();
-				
-				final String catalog = this.getCatalog(this.dataSource);
-				final String schema = this.getSchema(this.dataSource);
-				
-				final ResultSet rs = this.getProcedures(
-					(IfxConnection)meta.getConnection(),
-					catalog
-				);
-				final String proc_cat = null;
-				String proc_schema = null;
-				String proc_name = null;
-				String procId = null;
-				String remarks = null;
-				String param_types = null;
-				String param_ids = null;
-				String ret_types = null;
-				String ret_ids = null;
-				List<String> paramTypes = null;
-				List<Integer> paramIds = null;
-				List<Param> params = null;
-				ReturnTypeFlavor returnTypeFlavor = null;
-				DataType returnType = null;
-				List<Integer> retIds = null;
-				
-				int i = 0;
-				while(rs.next() && !monitor.isCanceled())
+				if(rs.next())
 				{
-					if(procId == null || !procId.equals(rs.getString(4)))
-					{
-						if(proc_name != null)
-						{
-							final String proc_description = this.getProcedureDescription(
-								ret_types,
-								param_types,
-								isToCreateProcedure(remarks),
-								proc_cat,
-								proc_schema
-							);
-							
-							list.add(new StoredProcedure(
-								returnTypeFlavor,
-								returnType,
-								proc_name,
-								proc_description,
-								params.toArray(new Param[params.size()])
-							));
-						}
-						proc_schema = rs.getString("owner").trim(); //$NON-NLS-1$
-						proc_name = rs.getString("procname"); //$NON-NLS-1$
-						procId = rs.getString("procid"); //$NON-NLS-1$
-						remarks = rs.getString("isproc"); //$NON-NLS-1$
-						param_types = rs.getString("ifx_param_types"); //$NON-NLS-1$
-						param_ids = rs.getString("ifx_param_ids"); //$NON-NLS-1$
-						ret_types = rs.getString("ifx_ret_types"); //$NON-NLS-1$
-						ret_ids = rs.getString("ifx_ret_ids"); //$NON-NLS-1$
-						paramTypes = Arrays.asList(param_types.split(",")); //$NON-NLS-1$
-						paramIds = this.parseIfxIds(param_ids);
-						params = new ArrayList<>();
-						retIds = this.parseIfxIds(ret_ids);
-						i = 0;
-						
-						switch(retIds.size())
-						{
-							case 0:
-								returnTypeFlavor = ReturnTypeFlavor.VOID;
-								break;
-							case 1:
-								returnTypeFlavor = ReturnTypeFlavor.TYPE;
-								
-								returnType = DataType.get(retIds.get(0));
-								break;
-							
-							default:
-								returnTypeFlavor = ReturnTypeFlavor.RESULT_SET;
-								break;
-						}
-					}
-					
-					String paramName = rs.getString("paramname"); //$NON-NLS-1$
-					if(paramName != null)
-					{
-						paramName = paramName.toUpperCase();
-					}
-					
-					if(paramIds != null
-						&& !paramIds.isEmpty()
-						&& paramName != null)
+					baseTabid = rs.getInt(1);
+					if(rs.wasNull())
 					{
-						addParamAccordingToParamType(paramTypes, paramIds, params, i, paramName);
-						i++;
+						// synonym of a table in another database
+						baseTabid = -1;
 					}
 				}
-				if(ret_ids != null)
-				{
-					final String proc_description = this.getProcedureDescription(
-						ret_types,
-						param_types,
-						isToCreateProcedure(remarks),
-						proc_cat,
-						proc_schema
-					);
-					list.add(new StoredProcedure(returnTypeFlavor, returnType, proc_name,
-						proc_description, params.toArray(new Param[params.size()])));
-				}
 			}
+			if(baseTabid == -1 || !visited.add(baseTabid))
+			{
+				break;
+			}
+			tabid = baseTabid;
+			statement = statements.prepare("SELECT btabid FROM informix.syssyntable WHERE tabid = ?"); //$NON-NLS-1$
+			statement.setInt(1, tabid);
 		}
-		catch(final SQLException e)
+		if(tabid == -1)
 		{
-			LOGGER.error("Cannot get stored procedures.", e); //$NON-NLS-1$
-			throw new DBException(this.dataSource, e);
+			return null;
 		}
 		
-		monitor.done();
-		
-		return list.toArray(new StoredProcedure[list.size()]);
+		statement = statements.prepare(createSingleTableSelect(" WHERE T.tabid = ?", indices)); //$NON-NLS-1$
+		statement.setInt(1, tabid);
+		if(indices)
+		{
+			statement.setInt(2, tabid);
+		}
+		return statement;
 	}
 	
 	/**
-	 * Parse a string of Informix- Datatypes to a list of JDBC-Types represented by a integer value
-	 *
-	 * @return a list of Integers, JDBC-Types
+	 * @return the condition of createSingleTableSelect for a table or synonym bound by name (and owner), a
+	 *         synonym is resolved one level
 	 */
-	private List<Integer> parseIfxIds(final String paramString)
+	private static String tableNameCondition(final boolean filterOwner)
 	{
-		final boolean bool = IfxStatement.t;
-		final StringTokenizer localStringTokenizer = new StringTokenizer(paramString, "(,)"); //$NON-NLS-1$
-		
-		int i2 = 1;
-		final List<Integer> list = new ArrayList<>();
-		do
+		return " WHERE T.tabid IN (SELECT NVL(S.btabid, X.tabid) FROM informix.systables X" //$NON-NLS-1$
+			+ " LEFT JOIN informix.syssyntable S ON S.tabid = X.tabid WHERE " //$NON-NLS-1$
+			+ tableNameFilter(filterOwner) + ")"; //$NON-NLS-1$
+	}
+	
+	/**
+	 * @return the condition on <code>informix.systables X</code> for a name bound with its owner or, without
+	 *         owner, preferring a table of the current user
+	 */
+	private static String tableNameFilter(final boolean filterOwner)
+	{
+		if(filterOwner)
+		{
+			return "X.tabname = ? AND TRIM(X.owner) = ?"; //$NON-NLS-1$
+		}
+		return "X.tabname = ? AND (TRIM(X.owner) = USER OR NOT EXISTS (SELECT 1 FROM informix.systables Y" //$NON-NLS-1$
+			+ " WHERE Y.tabname = X.tabname AND TRIM(Y.owner) = USER))"; //$NON-NLS-1$
+	}
+	
+	/**
+	 * One row per column and, with <b>indices</b>, one per index of the tables matching the condition
+	 * <b>tabids</b>, which is bound once per part. The index rows reuse the column positions: name, constraint type
+	 * in <code>default</code>, index type in <code>type</code> and the parts.
+	 */
+	private static String createSingleTableSelect(final String tabids, final boolean indices)
+	{
+		final StringBuilder sql = new StringBuilder(1024);
+		sql.append("SELECT T.tabid, 0 AS kind, ").append(NROWS_SQL) //$NON-NLS-1$
+			.append(", TC.colno, TC.colname, TC.collength, TC.coltype, sdf.default, sdf.type"); //$NON-NLS-1$
+		for(int part = 1; part <= InformixIndexDefinition.MAX_PARTS; part++)
+		{
+			sql.append(", 0"); //$NON-NLS-1$
+		}
+		sql.append(" FROM informix.systables T") //$NON-NLS-1$
+			.append(" INNER JOIN informix.syscolumns TC ON TC.tabid = T.tabid") //$NON-NLS-1$
+			.append(" LEFT JOIN informix.sysdefaults sdf") //$NON-NLS-1$
+			.append(" ON (TC.tabid = sdf.tabid AND TC.colno = sdf.colno)") //$NON-NLS-1$
+			.append(tabids);
+		if(indices)
 		{
-			do
+			sql.append(" UNION ALL SELECT T.tabid, 1, ").append(NROWS_SQL) //$NON-NLS-1$
+				.append(", 0, I.idxname, 0, 0, C.constrtype, I.idxtype"); //$NON-NLS-1$
+			for(int part = 1; part <= InformixIndexDefinition.MAX_PARTS; part++)
 			{
-				if(!(localStringTokenizer.hasMoreTokens()))
+				sql.append(", I.part").append(part); //$NON-NLS-1$
+			}
+			sql.append(" FROM informix.systables T") //$NON-NLS-1$
+				.append(" INNER JOIN informix.sysindexes I ON I.tabid = T.tabid") //$NON-NLS-1$
+				.append(" LEFT JOIN informix.sysconstraints C") //$NON-NLS-1$
+				.append(" ON (C.tabid = I.tabid AND C.idxname = I.idxname AND C.constrtype = 'P')") //$NON-NLS-1$
+				.append(tabids);
+		}
+		return sql.append(" ORDER BY 1, 2, 4").toString(); //$NON-NLS-1$
+	}
+	
+	@Override
+	public StoredProcedure[] getStoredProcedures(final ProgressMonitor monitor) throws DBException
+	{
+		this.awaitPrewarm(InformixMetaDataPrewarm.Phase.PROCEDURES, monitor);
+		return this.coalesce(InformixMetaDataCache.PROCEDURES_KEY, monitor, StoredProcedure[]::clone,
+			() -> this.getCachedStoredProcedures(monitor));
+	}
+	
+	private StoredProcedure[] getCachedStoredProcedures(final ProgressMonitor monitor) throws DBException
+	{
+		final InformixMetaDataCache cache = this.getMetaDataCache();
+		if(cache == null)
+		{
+			return this.loadStoredProcedures(monitor, null);
+		}
+		
+		final String key = InformixMetaDataCache.PROCEDURES_KEY;
+		StoredProcedure[] procedures = (StoredProcedure[])cache.getResult(key);
+		if(procedures == null)
+		{
+			procedures = this.loadStoredProcedures(monitor, null);
+			if(!monitor.isCanceled())
+			{
+				cache.putResult(key, procedures);
+			}
+		}
+		return procedures;
+	}
+	
+	/**
+	 * Returns the stored procedures whose name matches <b>namePattern</b>.
+	 *
+	 * @param namePattern
+	 *            a SQL <code>LIKE</code> pattern, <code>null</code> for all procedures
+	 */
+	public StoredProcedure[] getStoredProcedures(final ProgressMonitor monitor, final String namePattern)
+		throws DBException
+	{
+		if(namePattern == null)
+		{
+			return this.getStoredProcedures(monitor);
+		}
+		this.awaitPrewarm(InformixMetaDataPrewarm.Phase.PROCEDURES, monitor);
+		return this.loadStoredProcedures(monitor, namePattern);
+	}
+	
+	/**
+	 * Reads the signatures of the matching procedures with one query. The type strings and parameter names, which
+	 * are expensive for the server to compute, are only loaded for the procedures not yet cached with the same
+	 * signature.
+	 */
+	private StoredProcedure[] loadStoredProcedures(final ProgressMonitor monitor, final String namePattern)
+		throws DBException
+	{
+		monitor.beginTask("", ProgressMonitor.UNKNOWN); //$NON-NLS-1$
+		
+		final InformixMetaDataCache cache = this.getMetaDataCache();
+		final List<ProcedureRow> rows;
+		try
+		{
+			final ConnectionProvider<?> connectionProvider = this.dataSource.getConnectionProvider();
+			
+			try(final Connection connection = connectionProvider.getConnection();
+				final InformixStatementCache statements = InformixStatementCache.of(connection))
+			{
+				connection.setReadOnly(false);
+				
+				rows = readProcedureRows(statements, namePattern);
+				final Map<Integer, ProcedureRow> missing = new HashMap<>();
+				for(final ProcedureRow row : rows)
 				{
-					return list;
+					row.procedure = cache != null ? cache.getProcedure(row.procid, row.version) : null;
+					if(row.procedure == null)
+					{
+						missing.put(row.procid, row);
+					}
 				}
 				
-				final String token = localStringTokenizer.nextToken();
-				
-				if(i2 != 1)
+				if(!missing.isEmpty() && !monitor.isCanceled())
 				{
-					break;
+					// a scan of the filtered catalog is cheaper than many IN-lists
+					final List<Integer> procids = missing.size() > CATALOG_IN_LIST_CHUNK_SIZE
+						? null
+						: new ArrayList<>(missing.keySet());
+					readProcedureDetails(statements, namePattern, procids, missing, monitor);
+					
+					final InformixTypeIds typeIds = new InformixTypeIds();
+					for(final ProcedureRow row : missing.values())
+					{
+						if(row.paramIds != null && !monitor.isCanceled())
+						{
+							row.procedure = this.toStoredProcedure(row, typeIds);
+							if(cache != null)
+							{
+								cache.putProcedure(row.procid, row.version, row.procedure);
+							}
+						}
+					}
 				}
-				
-				final int tokenValueAsInt = Integer.parseInt(token.trim());
-				int jdbc2TypeAsInt = IfxTypes.FromIfxToJDBC2Type(tokenValueAsInt);
-				
-				if(tokenValueAsInt == 4)
+			}
+		}
+		catch(final SQLException e)
+		{
+			LOGGER.error("Cannot get stored procedures.", e); //$NON-NLS-1$
+			throw new DBException(this.dataSource, e);
+		}
+		
+		monitor.done();
+		
+		final List<StoredProcedure> list = new ArrayList<>(rows.size());
+		for(final ProcedureRow row : rows)
+		{
+			if(row.procedure != null)
+			{
+				list.add(row.procedure);
+			}
+		}
+		return list.toArray(new StoredProcedure[list.size()]);
+	}
+	
+	private static List<ProcedureRow> readProcedureRows(
+		final InformixStatementCache statements,
+		final String namePattern) throws SQLException
+	{
+		final PreparedStatement statement = statements.prepare(PROCEDURE_ROWS_SQL
+			+ procedureCondition(namePattern, 0) + " ORDER BY SP.procid"); //$NON-NLS-1$
+		bindProcedureCondition(statement, namePattern, null, 0);
+		
+		final List<ProcedureRow> rows = new ArrayList<>();
+		try(final ResultSet rs = statement.executeQuery())
+		{
+			while(rs.next())
+			{
+				rows.add(new ProcedureRow(rs.getInt(1), rs.getString(2).trim(), rs.getString(3), rs.getString(4),
+					rs.getInt(5) + ":" + rs.getInt(6) + ":" + rs.getInt(7) //$NON-NLS-1$ //$NON-NLS-2$
+						+ ":" + rs.getInt(8) + ":" + rs.getInt(9))); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return rows;
+	}
+	
+	/**
+	 * Loads the type strings and the parameter names of the procedures in <b>missing</b>.
+	 *
+	 * @param procids
+	 *            the procedures to query, <code>null</code> to scan all procedures matching <b>namePattern</b>
+	 */
+	private static void readProcedureDetails(
+		final InformixStatementCache statements, final String namePattern,
+		final List<Integer> procids, final Map<Integer, ProcedureRow> missing,
+		final ProgressMonitor monitor) throws SQLException
+	{
+		final int size = procids != null ? InformixStatementCache.inListSize(procids.size(),
+			CATALOG_IN_LIST_CHUNK_SIZE) : 0;
+		final String condition = procedureCondition(namePattern, size);
+		
+		final PreparedStatement details = statements.prepare(PROCEDURE_DETAILS_SQL + condition);
+		bindProcedureCondition(details, namePattern, procids, size);
+		try(final ResultSet rs = details.executeQuery())
+		{
+			while(rs.next() && !monitor.isCanceled())
+			{
+				final ProcedureRow row = missing.get(rs.getInt(1));
+				if(row != null)
+				{
+					row.paramTypes = nullToEmpty(rs.getString(2));
+					row.paramIds = nullToEmpty(rs.getString(3));
+					row.retTypes = nullToEmpty(rs.getString(4));
+					row.retIds = nullToEmpty(rs.getString(5));
+				}
+			}
+		}
+		
+		final PreparedStatement params = statements.prepare(PROCEDURE_PARAMS_SQL + condition
+			+ " ORDER BY SPC.procid, SPC.paramid"); //$NON-NLS-1$
+		bindProcedureCondition(params, namePattern, procids, size);
+		try(final ResultSet rs = params.executeQuery())
+		{
+			while(rs.next() && !monitor.isCanceled())
+			{
+				final ProcedureRow row = missing.get(rs.getInt(1));
+				if(row != null)
 				{
-					jdbc2TypeAsInt = 6;
+					row.paramNames.add(rs.getString(2).toUpperCase());
 				}
-				list.add(jdbc2TypeAsInt);
-				i2 = 0;
 			}
-			while(!(bool));
+		}
+	}
+	
+	/**
+	 * @param procidCount
+	 *            the number of procid placeholders to restrict the query to, <code>0</code> for the filter of all
+	 *            user routines
+	 */
+	private static String procedureCondition(final String namePattern, final int procidCount)
+	{
+		if(procidCount > 0)
+		{
+			return "SP.procid IN (" + createPlaceholders(procidCount) + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if(namePattern != null)
+		{
+			return PROCEDURE_FILTER + " AND SP.procname LIKE ?"; //$NON-NLS-1$
+		}
+		return PROCEDURE_FILTER;
+	}
+	
+	private static void bindProcedureCondition(
+		final PreparedStatement statement, final String namePattern,
+		final List<Integer> procids, final int procidCount) throws SQLException
+	{
+		if(procidCount > 0)
+		{
+			bindInList(statement, 1, procids, procidCount);
+		}
+		else if(namePattern != null)
+		{
+			statement.setString(1, namePattern);
+		}
+	}
+	
+	private static String nullToEmpty(final String value)
+	{
+		return value != null ? value : ""; //$NON-NLS-1$
+	}
+	
+	private StoredProcedure toStoredProcedure(final ProcedureRow row, final InformixTypeIds typeIds)
+	{
+		ReturnTypeFlavor returnTypeFlavor;
+		DataType returnType = null;
+		switch(typeIds.parse(row.retIds).size())
+		{
+			case 0:
+				returnTypeFlavor = ReturnTypeFlavor.VOID;
+				break;
+			case 1:
+				returnTypeFlavor = ReturnTypeFlavor.TYPE;
+				
+				returnType = DataType.get(typeIds.get(0));
+				break;
 			
-			i2 = 1;
+			default:
+				returnTypeFlavor = ReturnTypeFlavor.RESULT_SET;
+				break;
+		}
+		
+		final List<String> paramTypes = splitTypeList(row.paramTypes);
+		typeIds.parse(row.paramIds);
+		final int paramCount = Math.min(row.paramNames.size(), Math.min(paramTypes.size(), typeIds.size()));
+		final Param[] params = new Param[paramCount];
+		for(int i = 0; i < paramCount; i++)
+		{
+			params[i] = createParam(paramTypes.get(i), typeIds.get(i), row.paramNames.get(i));
 		}
-		while(!(bool));
 		
+		final String description = this.getProcedureDescription(
+			row.retTypes,
+			row.paramTypes,
+			isToCreateProcedure(row.isproc),
+			null,
+			row.owner
+		);
+		return new StoredProcedure(returnTypeFlavor, returnType, row.procname, description, params);
+	}
+	
+	/**
+	 * Splits the comma separated result of <code>ifx_param_types</code>, commas within parentheses, e.g. of
+	 * <code>decimal(10,2)</code>, don't separate.
+	 */
+	static List<String> splitTypeList(final String types)
+	{
+		final List<String> list = new ArrayList<>();
+		int depth = 0;
+		int start = 0;
+		final int length = types.length();
+		for(int i = 0; i < length; i++)
+		{
+			final char ch = types.charAt(i);
+			if(ch == '(')
+			{
+				depth++;
+			}
+			else if(ch == ')')
+			{
+				depth--;
+			}
+			else if(ch == ',' && depth == 0)
+			{
+				list.add(types.substring(start, i));
+				start = i + 1;
+			}
+		}
+		if(start < length)
+		{
+			list.add(types.substring(start));
+		}
 		return list;
 	}
 	
@@ -573,36 +998,6 @@ public class InformixJDBCMetaData extends JDBCMetaData
 		return procDescription;
 	}
 	
-	private ResultSet getProcedures(final IfxConnection connection, final String catalog) throws SQLException
-	{
-		
-		String sql = ""; //$NON-NLS-1$
-		try(final IfxStatement statement = (IfxStatement)connection.createStatement())
-		{
-			statement.setAutoFree(true);
-			
-			sql = "select '" //$NON-NLS-1$
-				+ catalog
-				+ "', " //$NON-NLS-1$
-				+ "SP.owner, SP.procname, SP.procid, SP.isproc, ifx_param_types(SP.procid) AS ifx_param_types,"
-				+ "ifx_param_ids(SP.procid) AS ifx_param_ids,ifx_ret_types(SP.procid) AS ifx_ret_types, ifx_ret_ids(SP"
-				+ ".procid) AS ifx_ret_ids, SPC.paramid, SPC.paramname from "
-				//$NON-NLS-1$
-				+ "informix.sysprocedures SP INNER JOIN  informix.sysproccolumns SPC ON SPC.procid = SP.procid where "
-				+ "not mode='d' and not mode='r' and SP.procid > 452"; //$NON-NLS-1$
-			
-			statement.executeQuery(sql, false);
-			
-			return statement.getResultSet();
-		}
-		catch(final SQLException e)
-		{
-			final String err = "Cannot get stored procedures. Sql statement: " + sql; //$NON-NLS-1$
-			LOGGER.error(err, Arrays.toString(e.getStackTrace()));
-			throw new SQLException(err, e);
-		}
-	}
-	
 	@Override
 	protected void createTable(final JDBCConnection jdbcConnection, final TableMetaData table)
 		throws DBException, SQLException
@@ -650,6 +1045,9 @@ public class InformixJDBCMetaData extends JDBCMetaData
 	}
 	
 	/**
+	 * Only the requested tables (and the base tables of requested synonyms) are read from the catalog, so the cost
+	 * scales with the number of requested tables and not with the size of the catalog.
+	 *
 	 * @author XDEV Software (MP)
 	 * @since 4.0
 	 */
@@ -657,516 +1055,1409 @@ public class InformixJDBCMetaData extends JDBCMetaData
 	public TableMetaData[] getTableMetaData(final ProgressMonitor monitor, final int flags, final TableInfo... tables)
 		throws DBException
 	{
-		TableMetaData[] tableMetaDatas = null;
-		final TableMetaData[] result = new TableMetaData[tables.length];
-		
-		try
+		if(InformixMetaDataPrewarm.covers(flags, tables))
 		{
-			tableMetaDatas = this.getTableMetaData(monitor, TableType.TABLES_VIEWS_AND_SYNONYMS, flags,
-				false);
-			
-			int i = 0;
-			for(final TableMetaData tableMetaData : tableMetaDatas)
-			{
-				
-				for(final TableInfo table : tables)
-				{
-					
-					if(tableMetaData.getTableInfo().getName().equalsIgnoreCase(table.getName()))
-					{
-						
-						result[i++] = tableMetaData;
-						break;
-					}
-				}
-			}
+			this.awaitPrewarm(InformixMetaDataPrewarm.Phase.TABLES, monitor);
 		}
-		catch(final Exception e)
+		
+		final StringBuilder key = new StringBuilder(16 + tables.length * 16);
+		key.append("tables:").append(flags).append(':').append(this.rowCountStrategy); //$NON-NLS-1$
+		for(final TableInfo table : tables)
 		{
-			final String err = "Request to get TableMetaDatas failed!."; //$NON-NLS-1$
-			LOGGER.error(err);
-			throw new DBException(this.dataSource, err, e);
+			key.append(':').append(table.getName());
 		}
-		
-		return result;
+		return this.coalesce(key.toString(), monitor, InformixTableMetaData::copyOf,
+			() -> this.getCachedTableMetaData(monitor, flags, tables));
 	}
 	
-	private TableMetaData[] getTableMetaData(
-		final ProgressMonitor dummy, final EnumSet<TableType> types,
-		final int flags, final boolean filterSysTables) throws Exception
+	private TableMetaData[] getCachedTableMetaData(
+		final ProgressMonitor monitor, final int flags,
+		final TableInfo[] tables) throws DBException
 	{
-		final JDBCConnection<?, ?> jdbcConnection = (JDBCConnection<?, ?>)this.dataSource.openConnection();
-		final Connection connection = jdbcConnection.getConnection();
-		
-		final DatabaseMetaData meta = connection.getMetaData();
-		final String catalog = this.getCatalog(this.dataSource);
-		final String schema = this.getSchema(this.dataSource);
-		
-		this.isGetSynonym = types.contains(TableType.SYNONYM);
-		
-		final String[] castTypes = this.castEnumSetToStringArray(types);
-		
-		final Map<String, List<ColumnMetaData>> columnsMap = new HashMap<>();
-		final Map<String, TableInfo> tableInfoMap = new HashMap<>();
-		final Set<String> columnSet = new HashSet<>();
-		
-		IfxStatement statement = null;
-		TableMetaData[] result = null;
-		try
+		// row counts change without a change of the catalog, so they are always loaded
+		final InformixMetaDataCache cache = (flags & ROW_COUNT) == 0 ? this.getMetaDataCache() : null;
+		if(cache == null)
 		{
-			statement = (IfxStatement)connection.createStatement();
-			
-			this.lodSynonyms(statement);
-			
-			this.requestStatementForTableMetaDatas(castTypes, statement, filterSysTables);
-			final ResultSet rs = statement.getResultSet();
-			this.parseResultToMaps(schema, rs, columnsMap, tableInfoMap, columnSet);
-			
-			final Map<String, List<Index>> indicesMap = new HashMap<>();
-			
-			this.calculateIndices(flags, meta, catalog, schema, columnSet, indicesMap);
-			
-			final Map<String, Integer> countsMap = new HashMap<>();
-			
-			this.calculateRowCounts(flags, statement, tableInfoMap, countsMap);
-			
-			result = this.convToTableMetaData(indicesMap, tableInfoMap, columnsMap, countsMap);
+			return this.loadTableMetaData(monitor, flags, tables);
 		}
-		catch(final Exception e)
+		
+		final TableMetaData[] result = new TableMetaData[tables.length];
+		final List<TableInfo> missing = new ArrayList<>();
+		for(int i = 0; i < tables.length; i++)
 		{
-			final String err = "Cannot return TableMetaData"; //$NON-NLS-1$
-			throw new DBException(this.dataSource, err, e);
+			result[i] = cache.getTable(InformixMetaDataCache.tableKey(flags, tables[i].getName()));
+			if(result[i] == null)
+			{
+				missing.add(tables[i]);
+			}
 		}
-		finally
+		
+		if(!missing.isEmpty())
 		{
-			if(statement != null)
+			final Map<String, TableMetaData> loaded = new HashMap<>();
+			for(final TableMetaData tableMetaData : this.loadTableMetaData(monitor, flags,
+				missing.toArray(new TableInfo[missing.size()])))
+			{
+				if(tableMetaData != null)
+				{
+					final String key = InformixMetaDataCache.tableKey(flags, tableMetaData.getTableInfo().getName());
+					loaded.put(key, tableMetaData);
+					cache.putTable(key, tableMetaData);
+				}
+			}
+			
+			for(int i = 0; i < tables.length; i++)
 			{
-				statement.close();
+				if(result[i] == null)
+				{
+					result[i] = loaded.get(InformixMetaDataCache.tableKey(flags, tables[i].getName()));
+				}
 			}
 		}
 		
 		return result;
 	}
 	
-	private void lodSynonyms(final IfxStatement statement) throws SQLException
+	/**
+	 * Returns skeletons of all tables of the given <b>types</b>, read from <code>systables</code> alone.
+	 *
+	 * @see #getLazyTableMetaData(ProgressMonitor, int, TableInfo...)
+	 */
+	public TableMetaData[] getLazyTableMetaData(
+		final ProgressMonitor monitor, final int flags,
+		final EnumSet<TableType> types) throws DBException
 	{
-		final ResultSet rs = statement
-			.executeQuery("SELECT a.tabname , b.btabid FROM systables a, syssyntable b WHERE a.tabid = b.tabid; ");
-		//$NON-NLS-1$
-		while(rs.next())
+		return this.getLazyTableMetaData(monitor, flags, this.getTableInfos(monitor, types));
+	}
+	
+	/**
+	 * Returns skeletons of the given <b>tables</b> without querying the catalog. Columns, indices and row counts of
+	 * a skeleton are loaded when they are accessed first, together with up to {@link #getLazyBatchSize()}
+	 * neighbouring tables which are not loaded yet. The deferred loads use the metadata cache but not
+	 * <b>monitor</b>, which has usually finished by then; if a load fails, the error is logged and the skeletons of
+	 * the batch are loaded again on their next access, at most {@value InformixLazyTableLoader#MAX_LOAD_ATTEMPTS}
+	 * times.
+	 */
+	public TableMetaData[] getLazyTableMetaData(
+		final ProgressMonitor monitor, final int flags,
+		final TableInfo... tables)
+	{
+		return InformixLazyTableLoader.createSkeletons(this, flags, this.lazyBatchSize, tables);
+	}
+	
+	/**
+	 * @return the current version of the table catalog, the starting point for
+	 * {@link #getSchemaChanges(ProgressMonitor, int, InformixSchemaVersion)}
+	 */
+	public InformixSchemaVersion getSchemaVersion() throws DBException
+	{
+		try(final JDBCConnection<?, ?> jdbcConnection = (JDBCConnection<?, ?>)this.dataSource.openConnection())
+		{
+			final Connection connection = jdbcConnection.getConnection();
+			return new InformixSchemaVersion(InformixCatalogFingerprint.read(connection),
+				InformixMetaDataCache.readTableVersions(connection));
+		}
+		catch(final SQLException e)
 		{
-			this.synMap = new HashMap<>();
-			final String tabname = rs.getString("tabname"); //$NON-NLS-1$
-			final String btabid = rs.getString("btabid"); //$NON-NLS-1$
-			this.synMap.put(btabid, tabname);
+			throw new DBException(this.dataSource, e);
 		}
 	}
 	
-	private void calculateRowCounts(
-		final int flags, final IfxStatement statement,
-		final Map<String, TableInfo> tableInfoMap, final Map<String, Integer> countsMap) throws Exception
+	/**
+	 * Returns the tables which were added, altered or dropped since <b>since</b>. The changes are found by comparing
+	 * tabid, name, <code>version</code> and <code>created</code> of all <code>systables</code> rows, the columns,
+	 * indices and defaults are then read only for the added and altered tables. If the catalog fingerprint did not
+	 * change at all, no further query is sent.
+	 *
+	 * @param since the version of the last call, <code>null</code> to report all tables as added
+	 */
+	public InformixSchemaChanges getSchemaChanges(
+		final ProgressMonitor monitor, final int flags,
+		final InformixSchemaVersion since) throws DBException
 	{
-		if((flags & ROW_COUNT) != 0)
+		final InformixSchemaVersion current;
+		try(final JDBCConnection<?, ?> jdbcConnection = (JDBCConnection<?, ?>)this.dataSource.openConnection())
 		{
-			int rowCount = -1;
-			String lastTableName = null;
-			try
+			final Connection connection = jdbcConnection.getConnection();
+			final InformixCatalogFingerprint fingerprint = InformixCatalogFingerprint.read(connection);
+			if(since != null && fingerprint.equals(since.fingerprint))
 			{
-				for(final Entry<String, TableInfo> entrySet : tableInfoMap.entrySet())
-				{
-					
-					lastTableName = entrySet.getValue().getName();
-					final String query = "select  count(*) from " + lastTableName; //$NON-NLS-1$
-					statement.execute(query);
-					
-					final ResultSet resultSet = statement.getResultSet();
-					if(resultSet.next())
-					{
-						rowCount = resultSet.getInt(1);
-						countsMap.put(lastTableName, rowCount);
-					}
-					resultSet.close();
-				}
+				return new InformixSchemaChanges(since, new TableMetaData[0], new TableMetaData[0], new String[0]);
 			}
-			catch(final Exception e)
+			current = new InformixSchemaVersion(fingerprint, InformixMetaDataCache.readTableVersions(connection));
+		}
+		catch(final SQLException e)
+		{
+			throw new DBException(this.dataSource, e);
+		}
+		
+		final Map<Integer, InformixMetaDataCache.TableVersion> oldVersions = since != null
+			? since.tableVersions
+			: Collections.<Integer, InformixMetaDataCache.TableVersion>emptyMap();
+		final Set<String> added = new HashSet<>();
+		final Set<String> altered = new HashSet<>();
+		final List<String> dropped = new ArrayList<>();
+		for(final Entry<Integer, InformixMetaDataCache.TableVersion> entry : oldVersions.entrySet())
+		{
+			final InformixMetaDataCache.TableVersion oldVersion = entry.getValue();
+			final InformixMetaDataCache.TableVersion newVersion = current.tableVersions.get(entry.getKey());
+			if(newVersion == null)
+			{
+				dropped.add(oldVersion.name);
+			}
+			else if(!newVersion.name.equals(oldVersion.name))
 			{
-				final String err =
-					"Cannot calculate row count. Row count for " + lastTableName + " is " //$NON-NLS-1$ //$NON-NLS-2$
-						+ rowCount;
-				throw new Exception(err, e);
+				dropped.add(oldVersion.name);
+				added.add(newVersion.name);
 			}
+			else if(!newVersion.equals(oldVersion))
+			{
+				altered.add(newVersion.name);
+			}
+		}
+		for(final Entry<Integer, InformixMetaDataCache.TableVersion> entry : current.tableVersions.entrySet())
+		{
+			if(!oldVersions.containsKey(entry.getKey()))
+			{
+				added.add(entry.getValue().name);
+			}
+		}
+		
+		final List<TableMetaData> addedTables = new ArrayList<>(added.size());
+		final List<TableMetaData> alteredTables = new ArrayList<>(altered.size());
+		if(!added.isEmpty() || !altered.isEmpty())
+		{
+			final Set<String> changed = new HashSet<>(added);
+			changed.addAll(altered);
+			
+			final TableMetaData[] tableMetaDatas;
+			try
+			{
+				// without a previous version everything changed, so the whole catalog is read in one pass
+				tableMetaDatas = this.getTableMetaData(monitor, TableType.TABLES_VIEWS_AND_SYNONYMS, flags, false,
+					since != null ? changed : null);
+			}
+			catch(final DBException e)
+			{
+				throw e;
+			}
+			catch(final Exception e)
+			{
+				throw new DBException(this.dataSource, "Cannot load changed tables", e); //$NON-NLS-1$
+			}
+			
+			// synonyms pull in their base table and its other synonyms, which may be unchanged
+			for(final TableMetaData tableMetaData : tableMetaDatas)
+			{
+				if(tableMetaData == null)
+				{
+					continue;
+				}
+				final String name = InformixMetaDataCache.nameKey(tableMetaData.getTableInfo().getName());
+				if(added.contains(name))
+				{
+					addedTables.add(tableMetaData);
+				}
+				else if(altered.contains(name))
+				{
+					alteredTables.add(tableMetaData);
+				}
+			}
+		}
+		
+		return new InformixSchemaChanges(current, addedTables.toArray(new TableMetaData[addedTables.size()]),
+			alteredTables.toArray(new TableMetaData[alteredTables.size()]), dropped.toArray(new String[dropped.size()]));
+	}
+	
+	/**
+	 * Runs <b>request</b> unless an identical request of another thread is in flight, whose result is used then.
+	 */
+	private <T> T coalesce(
+		final String key, final ProgressMonitor monitor,
+		final UnaryOperator<T> copy, final InformixRequestCoalescer.Request<T> request) throws DBException
+	{
+		return ((InformixJDBCDataSource)this.dataSource).getRequestCoalescer().execute(key, monitor, copy, request);
+	}
+	
+	/**
+	 * Lets a request attach to a running pre-warm of the data source instead of loading the same data again.
+	 */
+	private void awaitPrewarm(final InformixMetaDataPrewarm.Phase phase, final ProgressMonitor monitor)
+	{
+		((InformixJDBCDataSource)this.dataSource).awaitMetaDataPrewarm(phase, monitor);
+	}
+	
+	/**
+	 * @return the validated metadata cache of the data source, or <code>null</code> if caching is disabled
+	 */
+	private InformixMetaDataCache getMetaDataCache() throws DBException
+	{
+		final InformixMetaDataCache cache = ((InformixJDBCDataSource)this.dataSource).getMetaDataCache();
+		if(!cache.isEnabled())
+		{
+			return null;
+		}
+		if(!cache.isValidationDue())
+		{
+			return cache;
+		}
+		
+		try(final JDBCConnection<?, ?> jdbcConnection = (JDBCConnection<?, ?>)this.dataSource.openConnection())
+		{
+			cache.validate(jdbcConnection.getConnection());
+		}
+		catch(final SQLException e)
+		{
+			throw new DBException(this.dataSource, e);
+		}
+		return cache;
+	}
+	
+	private TableMetaData[] loadTableMetaData(
+		final ProgressMonitor monitor, final int flags,
+		final TableInfo... tables) throws DBException
+	{
+		final TableMetaData[] result = new TableMetaData[tables.length];
+		
+		try
+		{
+			final List<String> names = new ArrayList<>(tables.length);
+			for(final TableInfo table : tables)
+			{
+				names.add(table.getName());
+			}
+			final TableMetaData[] tableMetaDatas = this.getTableMetaData(monitor, TableType.TABLES_VIEWS_AND_SYNONYMS,
+				flags, false, names);
+			
+			final Map<String, TableMetaData> lookup = new HashMap<>(tableMetaDatas.length * 2);
+			for(final TableMetaData tableMetaData : tableMetaDatas)
+			{
+				if(tableMetaData != null)
+				{
+					lookup.put(tableNameKey(tableMetaData.getTableInfo().getName()), tableMetaData);
+				}
+			}
+			
+			for(int i = 0; i < tables.length; i++)
+			{
+				result[i] = lookup.get(tableNameKey(tables[i].getName()));
+			}
+		}
+		catch(final Exception e)
+		{
+			final String err = "Request to get TableMetaDatas failed!."; //$NON-NLS-1$
+			LOGGER.error(err);
+			throw new DBException(this.dataSource, err, e);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @param requestedNames the names of the tables to load, or <code>null</code> to load the whole catalog
+	 */
+	private TableMetaData[] getTableMetaData(
+		final ProgressMonitor monitor, final EnumSet<TableType> types,
+		final int flags, final boolean filterSysTables, final Collection<String> requestedNames) throws Exception
+	{
+		final JDBCConnection<?, ?> jdbcConnection = (JDBCConnection<?, ?>)this.dataSource.openConnection();
+		final Connection connection = jdbcConnection.getConnection();
+		final InformixStatementCache statements = InformixStatementCache.of(connection);
+		
+		final String schema = this.getSchema(this.dataSource);
+		
+		final String[] castTypes = this.castEnumSetToStringArray(types);
+		
+		final Map<String, List<ColumnMetaData>> columnsMap = new HashMap<>();
+		final Map<String, TableInfo> tableInfoMap = new HashMap<>();
+		final InformixColumnKeyMap columnNames = new InformixColumnKeyMap();
+		final Map<String, Integer> statisticsMap = new HashMap<>();
+		
+		final InformixMetaDataStatistics statistics = new InformixMetaDataStatistics(
+			requestedNames == null ? "catalog" : "tables"); //$NON-NLS-1$ //$NON-NLS-2$
+		TableMetaData[] result = null;
+		List<Integer> tabids = null;
+		try
+		{
+			long start;
+			final InformixSynonyms synonyms;
+			if(requestedNames == null)
+			{
+				start = System.nanoTime();
+				synonyms = this.loadSynonyms(connection, statistics);
+				statistics.addWallTime(InformixMetaDataPhase.SYNONYMS, start);
+				
+				start = System.nanoTime();
+				try(final Statement statement = statements.createStatement();
+					final ResultSet rs = statement.executeQuery(this.createTableMetaDataSelect(castTypes,
+						filterSysTables, 0)))
+				{
+					statistics.addWallTime(InformixMetaDataPhase.TABLES, start);
+					statistics.addRoundTrip(InformixMetaDataPhase.TABLES);
+					
+					start = System.nanoTime();
+					statistics.addRows(InformixMetaDataPhase.PARSE, this.parseResultToMaps(schema, rs, columnsMap,
+						tableInfoMap, columnNames, statisticsMap));
+					statistics.addWallTime(InformixMetaDataPhase.PARSE, start);
+				}
+			}
+			else
+			{
+				start = System.nanoTime();
+				final List<Integer> requestedTabids = this.resolveTabids(statements, requestedNames, statistics);
+				statistics.addWallTime(InformixMetaDataPhase.TABLES, start);
+				
+				start = System.nanoTime();
+				synonyms = this.loadSynonyms(statements, requestedTabids, statistics);
+				final Set<Integer> baseTabids = new TreeSet<>();
+				for(final Integer tabid : requestedTabids)
+				{
+					baseTabids.add(synonyms.getBaseTabid(tabid));
+				}
+				tabids = new ArrayList<>(baseTabids);
+				statistics.addWallTime(InformixMetaDataPhase.SYNONYMS, start);
+				
+				for(int from = 0; from < tabids.size(); from += CATALOG_IN_LIST_CHUNK_SIZE)
+				{
+					final List<Integer> chunk = tabids.subList(from,
+						Math.min(from + CATALOG_IN_LIST_CHUNK_SIZE, tabids.size()));
+					start = System.nanoTime();
+					try(final ResultSet rs = this.requestStatementForTableMetaDatas(castTypes, statements,
+						filterSysTables, chunk).executeQuery())
+					{
+						statistics.addWallTime(InformixMetaDataPhase.TABLES, start);
+						statistics.addRoundTrip(InformixMetaDataPhase.TABLES);
+						
+						start = System.nanoTime();
+						statistics.addRows(InformixMetaDataPhase.PARSE, this.parseResultToMaps(schema, rs, columnsMap,
+							tableInfoMap, columnNames, statisticsMap));
+						statistics.addWallTime(InformixMetaDataPhase.PARSE, start);
+					}
+				}
+			}
+			statistics.addObjects(InformixMetaDataPhase.PARSE, tableInfoMap.size() + columnNames.size());
+			
+			final Map<String, List<Index>> indicesMap = new HashMap<>();
+			
+			start = System.nanoTime();
+			this.calculateIndices(flags, statements, tableInfoMap, columnNames, indicesMap, tabids, statistics);
+			statistics.addWallTime(InformixMetaDataPhase.INDICES, start);
+			
+			final Map<String, Integer> countsMap = new HashMap<>();
+			
+			final InformixRowCountStrategy strategy = this.rowCountStrategy;
+			start = System.nanoTime();
+			this.calculateRowCounts(monitor, flags, strategy, statements, tableInfoMap, statisticsMap,
+				countsMap, statistics);
+			statistics.addWallTime(InformixMetaDataPhase.ROW_COUNTS, start);
+			statistics.addObjects(InformixMetaDataPhase.ROW_COUNTS, countsMap.size());
+			
+			start = System.nanoTime();
+			result = this.convToTableMetaData(indicesMap, tableInfoMap, columnsMap, countsMap,
+				strategy == InformixRowCountStrategy.EXACT,
+				types.contains(TableType.SYNONYM) ? synonyms : InformixSynonyms.EMPTY);
+			statistics.addWallTime(InformixMetaDataPhase.CONVERT, start);
+			statistics.addObjects(InformixMetaDataPhase.CONVERT, result.length);
+		}
+		catch(final Exception e)
+		{
+			statistics.setFailed();
+			final String err = "Cannot return TableMetaData"; //$NON-NLS-1$
+			throw new DBException(this.dataSource, err, e);
+		}
+		finally
+		{
+			statements.close();
+			jdbcConnection.close();
+			((InformixJDBCDataSource)this.dataSource).fireMetaDataLoaded(statistics);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Streams the metadata of all tables of the given <b>types</b> to <b>handler</b>. Each table is passed on as soon
+	 * as its catalog rows are read, so the memory needed is bounded by the largest single table instead of the whole
+	 * catalog. Indices are read per range of {@value #CATALOG_IN_LIST_CHUNK_SIZE} tabids as the stream reaches it,
+	 * live row counts up front and exact row counts table by table.
+	 *
+	 * @param monitor  checked for cancellation between tables
+	 * @param handler  receives the tables in ascending tabid order, synonyms right after their base table
+	 */
+	public void getTableMetaData(
+		final ProgressMonitor monitor, final EnumSet<TableType> types, final int flags,
+		final Consumer<? super TableMetaData> handler) throws DBException
+	{
+		this.getTableMetaData(monitor, types, flags, false, handler);
+	}
+	
+	/**
+	 * Streams the metadata like {@link #getTableMetaData(ProgressMonitor, EnumSet, int, Consumer)}.
+	 *
+	 * @param filterSysTables whether the tables of the system catalog are skipped, like by
+	 *                        {@link #getTableInfos(ProgressMonitor, EnumSet)}
+	 */
+	public void getTableMetaData(
+		final ProgressMonitor monitor, final EnumSet<TableType> types, final int flags,
+		final boolean filterSysTables, final Consumer<? super TableMetaData> handler) throws DBException
+	{
+		monitor.beginTask("", ProgressMonitor.UNKNOWN); //$NON-NLS-1$
+		
+		final InformixMetaDataStatistics statistics = new InformixMetaDataStatistics("stream"); //$NON-NLS-1$
+		try(final JDBCConnection<?, ?> jdbcConnection = (JDBCConnection<?, ?>)this.dataSource.openConnection();
+			final InformixStatementCache statements = InformixStatementCache.of(jdbcConnection.getConnection()))
+		{
+			final Connection connection = statements.getConnection();
+			final String schema = this.getSchema(this.dataSource);
+			final String[] castTypes = this.castEnumSetToStringArray(types);
+			final InformixRowCountStrategy strategy = this.rowCountStrategy;
+			final boolean rowCount = (flags & ROW_COUNT) != 0;
+			
+			long start = System.nanoTime();
+			final InformixSynonyms synonyms = types.contains(TableType.SYNONYM)
+				? this.loadSynonyms(connection, statistics)
+				: InformixSynonyms.EMPTY;
+			statistics.addWallTime(InformixMetaDataPhase.SYNONYMS, start);
+			
+			final boolean indices = (flags & INDICES) != 0;
+			final Map<String, List<InformixIndexDefinition>> indexDefinitions = new HashMap<>();
+			int indexTabidsEnd = Integer.MIN_VALUE;
+			
+			start = System.nanoTime();
+			final Map<String, Integer> liveCounts = rowCount && strategy == InformixRowCountStrategy.LIVE
+				? this.loadLiveRowCounts(statements, Collections.<Integer>emptyList(), statistics)
+				: Collections.<String, Integer>emptyMap();
+			statistics.addWallTime(InformixMetaDataPhase.ROW_COUNTS, start);
+			
+			final String sql = this.createTableMetaDataSelect(castTypes, filterSysTables, 0)
+				+ " ORDER BY T.tabid, TC.colno"; //$NON-NLS-1$
+			
+			start = System.nanoTime();
+			// a statement of its own, the cursor stays open while the tables are emitted
+			try(final PreparedStatement statement = connection.prepareStatement(sql);
+				final ResultSet rs = statement.executeQuery())
+			{
+				statistics.addWallTime(InformixMetaDataPhase.TABLES, start);
+				statistics.addRoundTrip(InformixMetaDataPhase.TABLES);
+				
+				// reading and emitting are interleaved, the time of the handler is part of PARSE
+				start = System.nanoTime();
+				String tabid = null;
+				TableInfo tableInfo = null;
+				int estimate = UNKNOWN_ROW_COUNT;
+				List<ColumnMetaData> columns = new ArrayList<>();
+				final InformixColumnKeyMap columnNames = new InformixColumnKeyMap();
+				
+				while(rs.next() && !monitor.isCanceled())
+				{
+					final String rowTabid = rs.getString(CATALOG_TABID);
+					if(!rowTabid.equals(tabid))
+					{
+						if(tableInfo != null)
+						{
+							this.emitTableMetaData(handler, types, tabid, tableInfo, columns, columnNames,
+								indexDefinitions, synonyms,
+								rowCount ? strategy : null, estimate, liveCounts, connection, statistics);
+						}
+						
+						tabid = rowTabid;
+						final int tabidNumber = rs.getInt(CATALOG_TABID);
+						if(indices && tabidNumber >= indexTabidsEnd)
+						{
+							// the definitions of the emitted tables have been removed already
+							indexTabidsEnd = tabidNumber + CATALOG_IN_LIST_CHUNK_SIZE;
+							final long indicesStart = System.nanoTime();
+							readIndexDefinitions(statements, tabidNumber, indexTabidsEnd, indexDefinitions,
+								statistics);
+							statistics.addWallTime(InformixMetaDataPhase.INDICES, indicesStart);
+						}
+						
+						final TableType tableType = this.getTableType(rs.getString(CATALOG_TABTYPE));
+						tableInfo = new TableInfo(tableType, schema, rs.getString(CATALOG_TABNAME));
+						estimate = readRowCountEstimate(rs, CATALOG_NROWS, tableType);
+						columns = new ArrayList<>();
+						columnNames.clear();
+						statistics.addObjects(InformixMetaDataPhase.PARSE, 1);
+					}
+					
+					final ColumnMetaData column = readColumn(rs, tableInfo.getName(), CATALOG_COLNAME,
+						CATALOG_DEFAULT);
+					columns.add(column);
+					columnNames.put(0, rs.getShort(CATALOG_COLNO), column.getName());
+					statistics.addRows(InformixMetaDataPhase.PARSE, 1);
+					statistics.addObjects(InformixMetaDataPhase.PARSE, 1);
+				}
+				
+				if(tableInfo != null && !monitor.isCanceled())
+				{
+					this.emitTableMetaData(handler, types, tabid, tableInfo, columns, columnNames,
+						indexDefinitions, synonyms,
+						rowCount ? strategy : null, estimate, liveCounts, connection, statistics);
+				}
+				statistics.addWallTime(InformixMetaDataPhase.PARSE, start);
+			}
+		}
+		catch(final Exception e)
+		{
+			statistics.setFailed();
+			final String err = "Cannot stream TableMetaData"; //$NON-NLS-1$
+			throw new DBException(this.dataSource, err, e);
+		}
+		finally
+		{
+			((InformixJDBCDataSource)this.dataSource).fireMetaDataLoaded(statistics);
+		}
+		
+		monitor.done();
+	}
+	
+	/**
+	 * Emits the table unless its type is not in <b>types</b>, it is read anyway if only its synonyms are requested.
+	 *
+	 * @param strategy the row count strategy, <code>null</code> if no row counts are requested
+	 */
+	private void emitTableMetaData(
+		final Consumer<? super TableMetaData> handler, final EnumSet<TableType> types,
+		final String tabid, final TableInfo tableInfo,
+		final List<ColumnMetaData> columnsList, final InformixColumnKeyMap columnNames,
+		final Map<String, List<InformixIndexDefinition>> indexDefinitions, final InformixSynonyms synonyms,
+		final InformixRowCountStrategy strategy, final int estimate,
+		final Map<String, Integer> liveCounts, final Connection connection,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		// the index definitions are not needed anymore once the table is emitted
+		final List<InformixIndexDefinition> definitions = indexDefinitions.remove(tabid);
+		final boolean requested = types.contains(tableInfo.getType());
+		final String[] tableSynonyms = synonyms.getSynonyms(tabid);
+		if(!requested && tableSynonyms.length == 0)
+		{
+			return;
+		}
+		
+		final String name = tableInfo.getName();
+		final ColumnMetaData[] columns = columnsList.toArray(new ColumnMetaData[columnsList.size()]);
+		final List<Index> indexList = this.toIndices(definitions, columnNumber -> columnNames.get(0, columnNumber));
+		final Index[] indices = indexList.toArray(new Index[indexList.size()]);
+		
+		int count = UNKNOWN_ROW_COUNT;
+		if(strategy == InformixRowCountStrategy.STATISTICS)
+		{
+			count = estimate;
+		}
+		else if(strategy == InformixRowCountStrategy.LIVE)
+		{
+			final Integer liveCount = liveCounts.get(tabid);
+			if(liveCount != null)
+			{
+				count = liveCount;
+			}
+		}
+		else if(strategy == InformixRowCountStrategy.EXACT)
+		{
+			statistics.addRoundTrip(InformixMetaDataPhase.ROW_COUNTS);
+			// not cached: every table would add a statement of its own
+			try(final Statement statement = connection.createStatement();
+				final ResultSet rs = statement.executeQuery("select count(*) from " + name)) //$NON-NLS-1$
+			{
+				if(rs.next())
+				{
+					count = rs.getInt(1);
+				}
+			}
+			catch(final SQLException e)
+			{
+				LOGGER.error("Cannot calculate row count of " + name, e); //$NON-NLS-1$
+			}
+		}
+		final boolean exactCount = strategy == InformixRowCountStrategy.EXACT && count != UNKNOWN_ROW_COUNT;
+		
+		final TableMetaData table = new InformixTableMetaData(tableInfo, columns, indices, count, exactCount);
+		if(requested)
+		{
+			handler.accept(table);
+			statistics.addObjects(InformixMetaDataPhase.CONVERT, 1);
+		}
+		
+		for(final String synonym : tableSynonyms)
+		{
+			final TableInfo synonymInfo = new TableInfo(tableInfo.getType(), tableInfo.getSchema(), synonym);
+			handler.accept(InformixTableMetaData.copyOf(table, synonymInfo));
+			statistics.addObjects(InformixMetaDataPhase.CONVERT, 1);
+		}
+	}
+	
+	/**
+	 * Resolves the tabids of the requested tables and synonyms. The names are bound in chunks of
+	 * {@link #CATALOG_IN_LIST_CHUNK_SIZE}.
+	 *
+	 * @return the distinct tabids in ascending order
+	 */
+	private List<Integer> resolveTabids(
+		final InformixStatementCache statements, final Collection<String> requestedNames,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		final Set<String> names = new LinkedHashSet<>();
+		for(final String name : requestedNames)
+		{
+			// Informix stores undelimited identifiers in lower case
+			names.add(name);
+			names.add(name.toLowerCase(Locale.ROOT));
+		}
+		
+		final List<String> nameList = new ArrayList<>(names);
+		final Set<Integer> tabids = new TreeSet<>();
+		for(int from = 0; from < nameList.size(); from += CATALOG_IN_LIST_CHUNK_SIZE)
+		{
+			final List<String> chunk = nameList.subList(from,
+				Math.min(from + CATALOG_IN_LIST_CHUNK_SIZE, nameList.size()));
+			final int size = InformixStatementCache.inListSize(chunk.size(), CATALOG_IN_LIST_CHUNK_SIZE);
+			final String sql = "SELECT T.tabid FROM informix.systables T" //$NON-NLS-1$
+				+ " WHERE T.tabname IN (" + createPlaceholders(size) + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+			
+			final PreparedStatement statement = statements.prepare(sql);
+			bindInList(statement, 1, chunk, size);
+			
+			statistics.addRoundTrip(InformixMetaDataPhase.TABLES);
+			try(final ResultSet rs = statement.executeQuery())
+			{
+				while(rs.next())
+				{
+					tabids.add(rs.getInt(1));
+					statistics.addRows(InformixMetaDataPhase.TABLES, 1);
+				}
+			}
+		}
+		
+		return new ArrayList<>(tabids);
+	}
+	
+	/**
+	 * Binds <b>values</b> to <b>size</b> placeholders starting at <b>index</b>, repeating the last value for the
+	 * surplus placeholders (see {@link InformixStatementCache#inListSize(int, int)}).
+	 *
+	 * @return the index of the next placeholder
+	 */
+	private static int bindInList(
+		final PreparedStatement statement, final int index,
+		final List<?> values, final int size) throws SQLException
+	{
+		for(int i = 0; i < size; i++)
+		{
+			statement.setObject(index + i, values.get(Math.min(i, values.size() - 1)));
+		}
+		return index + size;
+	}
+	
+	private static String createPlaceholders(final int count)
+	{
+		final StringBuilder sb = new StringBuilder(count * 3);
+		for(int i = 0; i < count; i++)
+		{
+			if(i > 0)
+			{
+				sb.append(", "); //$NON-NLS-1$
+			}
+			sb.append('?');
+		}
+		return sb.toString();
+	}
+	
+	private static String tableNameKey(final String tableName)
+	{
+		return tableName.toLowerCase(Locale.ROOT);
+	}
+	
+	private InformixSynonyms loadSynonyms(
+		final Connection connection,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		final InformixSynonyms synonyms = InformixSynonyms.read(connection);
+		statistics.addRoundTrip(InformixMetaDataPhase.SYNONYMS);
+		statistics.addRows(InformixMetaDataPhase.SYNONYMS, synonyms.getRowCount());
+		statistics.addObjects(InformixMetaDataPhase.SYNONYMS, synonyms.getSynonymCount());
+		return synonyms;
+	}
+	
+	/**
+	 * Reads the synonyms among <b>tabids</b> and, following their chains, the synonyms they refer to, instead of the
+	 * whole <code>syssyntable</code>. The tabids are bound in chunks of {@link #CATALOG_IN_LIST_CHUNK_SIZE}.
+	 */
+	private InformixSynonyms loadSynonyms(
+		final InformixStatementCache statements, final List<Integer> tabids,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		final Map<Integer, String> synonymNames = new HashMap<>();
+		final Map<Integer, Integer> btabids = new HashMap<>();
+		final Set<Integer> queried = new HashSet<>(tabids);
+		int rows = 0;
+		
+		List<Integer> pending = tabids;
+		while(!pending.isEmpty())
+		{
+			final List<Integer> next = new ArrayList<>();
+			for(int from = 0; from < pending.size(); from += CATALOG_IN_LIST_CHUNK_SIZE)
+			{
+				final List<Integer> chunk = pending.subList(from,
+					Math.min(from + CATALOG_IN_LIST_CHUNK_SIZE, pending.size()));
+				final int size = InformixStatementCache.inListSize(chunk.size(), CATALOG_IN_LIST_CHUNK_SIZE);
+				// the type of the referenced table tells whether the chain goes on
+				final String sql = "SELECT a.tabid, a.tabname, b.btabid, c.tabtype" //$NON-NLS-1$
+					+ " FROM informix.systables a INNER JOIN informix.syssyntable b ON b.tabid = a.tabid" //$NON-NLS-1$
+					+ " LEFT JOIN informix.systables c ON c.tabid = b.btabid" //$NON-NLS-1$
+					+ " WHERE a.tabid IN (" + createPlaceholders(size) + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+				
+				final PreparedStatement statement = statements.prepare(sql);
+				bindInList(statement, 1, chunk, size);
+				
+				statistics.addRoundTrip(InformixMetaDataPhase.SYNONYMS);
+				try(final ResultSet rs = statement.executeQuery())
+				{
+					while(rs.next())
+					{
+						rows++;
+						final int tabid = rs.getInt(1);
+						synonymNames.put(tabid, rs.getString(2));
+						final int btabid = rs.getInt(3);
+						if(!rs.wasNull())
+						{
+							btabids.put(tabid, btabid);
+							if("S".equals(rs.getString(4)) && queried.add(btabid)) //$NON-NLS-1$
+							{
+								next.add(btabid);
+							}
+						}
+					}
+				}
+			}
+			pending = next;
+		}
+		
+		final InformixSynonyms synonyms = InformixSynonyms.resolve(synonymNames, btabids, rows);
+		statistics.addRows(InformixMetaDataPhase.SYNONYMS, synonyms.getRowCount());
+		statistics.addObjects(InformixMetaDataPhase.SYNONYMS, synonyms.getSynonymCount());
+		return synonyms;
+	}
+	
+	private void calculateRowCounts(
+		final ProgressMonitor monitor, final int flags, final InformixRowCountStrategy strategy,
+		final InformixStatementCache statements,
+		final Map<String, TableInfo> tableInfoMap, final Map<String, Integer> statisticsMap,
+		final Map<String, Integer> countsMap, final InformixMetaDataStatistics statistics) throws Exception
+	{
+		if((flags & ROW_COUNT) == 0)
+		{
+			return;
+		}
+		
+		if(strategy == InformixRowCountStrategy.STATISTICS)
+		{
+			countsMap.putAll(statisticsMap);
+		}
+		else if(strategy == InformixRowCountStrategy.LIVE)
+		{
+			this.calculateLiveRowCounts(statements, tableInfoMap, countsMap, statistics);
+		}
+		else
+		{
+			final InformixRowCounter counter = new InformixRowCounter(
+				(InformixJDBCDataSource)this.dataSource, this.rowCountParallelism, this.rowCountTimeout);
+			final InformixRowCounter.Result result = counter.count(tableInfoMap.values(), statisticsMap, monitor);
+			countsMap.putAll(result.getCounts());
+			
+			final int counted = result.getCounts().size() + result.getFailures().size();
+			for(int i = 0; i < counted; i++)
+			{
+				statistics.addRoundTrip(InformixMetaDataPhase.ROW_COUNTS);
+			}
+			statistics.addRows(InformixMetaDataPhase.ROW_COUNTS, result.getCounts().size());
+			
+			for(final Entry<String, Exception> failure : result.getFailures().entrySet())
+			{
+				LOGGER.error("Cannot calculate row count of " + failure.getKey(), //$NON-NLS-1$
+					failure.getValue());
+			}
+			for(final Exception failure : result.getConnectionFailures())
+			{
+				LOGGER.error("Cannot open a connection to calculate row counts", failure); //$NON-NLS-1$
+			}
+		}
+	}
+	
+	private void calculateLiveRowCounts(
+		final InformixStatementCache statements,
+		final Map<String, TableInfo> tableInfoMap, final Map<String, Integer> countsMap,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		final List<Integer> tabids = new ArrayList<>();
+		for(final Entry<String, TableInfo> entry : tableInfoMap.entrySet())
+		{
+			if(entry.getValue().getType() == TableType.TABLE)
+			{
+				tabids.add(Integer.valueOf(entry.getKey()));
+			}
+		}
+		
+		if(tabids.isEmpty())
+		{
+			return;
+		}
+		
+		for(final Entry<String, Integer> entry : this.loadLiveRowCounts(statements, tabids, statistics).entrySet())
+		{
+			final TableInfo tableInfo = tableInfoMap.get(entry.getKey());
+			if(tableInfo != null)
+			{
+				countsMap.put(tableInfo.getName(), entry.getValue());
+			}
+		}
+	}
+	
+	/**
+	 * Sums the row counters of all partitions of tables, fragmented tables included.
+	 *
+	 * @param tabids the tables to read the counters of, an empty list for all tables
+	 * @return the row counts by tabid
+	 */
+	private Map<String, Integer> loadLiveRowCounts(
+		final InformixStatementCache statements, final List<Integer> tabids,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		// small requests are restricted on the server, the whole catalog is read in one go otherwise
+		final boolean bindTabids = !tabids.isEmpty() && tabids.size() <= CATALOG_IN_LIST_CHUNK_SIZE;
+		final int size = bindTabids ? InformixStatementCache.inListSize(tabids.size(), CATALOG_IN_LIST_CHUNK_SIZE) : 0;
+		final String tabidFilter = bindTabids
+			? " AND T.tabid IN (" + createPlaceholders(size) + ")" //$NON-NLS-1$ //$NON-NLS-2$
+			: ""; //$NON-NLS-1$
+		final String fragmentFilter = bindTabids
+			? " AND F.tabid IN (" + createPlaceholders(size) + ")" //$NON-NLS-1$ //$NON-NLS-2$
+			: ""; //$NON-NLS-1$
+		
+		final String sql = "SELECT T.tabid, SUM(P.nrows) FROM informix.systables T," //$NON-NLS-1$
+			+ " sysmaster:informix.sysptnhdr P WHERE P.partnum = T.partnum AND T.partnum > 0" //$NON-NLS-1$
+			+ tabidFilter
+			+ " GROUP BY T.tabid" //$NON-NLS-1$
+			+ " UNION ALL SELECT F.tabid, SUM(P.nrows) FROM informix.sysfragments F," //$NON-NLS-1$
+			+ " sysmaster:informix.sysptnhdr P WHERE P.partnum = F.partn AND F.fragtype = 'T'" //$NON-NLS-1$
+			+ fragmentFilter
+			+ " GROUP BY F.tabid"; //$NON-NLS-1$
+		
+		final Map<String, Integer> counts = new HashMap<>();
+		statistics.addRoundTrip(InformixMetaDataPhase.ROW_COUNTS);
+		if(bindTabids)
+		{
+			final PreparedStatement statement = statements.prepare(sql);
+			bindInList(statement, bindInList(statement, 1, tabids, size), tabids, size);
+			try(final ResultSet rs = statement.executeQuery())
+			{
+				readLiveRowCounts(rs, counts);
+			}
+		}
+		else
+		{
+			try(final Statement statement = statements.createStatement();
+				final ResultSet rs = statement.executeQuery(sql))
+			{
+				readLiveRowCounts(rs, counts);
+			}
+		}
+		statistics.addRows(InformixMetaDataPhase.ROW_COUNTS, counts.size());
+		return counts;
+	}
+	
+	private static void readLiveRowCounts(final ResultSet rs, final Map<String, Integer> counts)
+		throws SQLException
+	{
+		while(rs.next())
+		{
+			counts.put(rs.getString(1), (int)Math.min(rs.getLong(2), Integer.MAX_VALUE));
+		}
+	}
+	
+	/**
+	 * Reads the indices of the tables in <b>tableInfoMap</b> with one catalog query (one per chunk of
+	 * <b>tabids</b>) and resolves their column numbers through <b>columnNames</b>.
+	 *
+	 * @param columnNames the column names by <code>(tabid, colno)</code>
+	 * @param tabids      the tables to read the indices for, or <code>null</code> for all tables of the catalog
+	 */
+	private void calculateIndices(
+		final int flags, final InformixStatementCache statements, final Map<String, TableInfo> tableInfoMap,
+		final InformixColumnKeyMap columnNames,
+		final Map<String, List<Index>> indicesMap, final List<Integer> tabids,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		if((flags & INDICES) == 0)
+		{
+			return;
+		}
+		
+		final Map<String, List<InformixIndexDefinition>> definitions = this.loadIndexDefinitions(statements, tabids,
+			statistics);
+		for(final Entry<String, List<InformixIndexDefinition>> entry : definitions.entrySet())
+		{
+			final TableInfo tableInfo = tableInfoMap.get(entry.getKey());
+			if(tableInfo == null)
+			{
+				continue;
+			}
+			
+			final int tabid = Integer.parseInt(entry.getKey());
+			final List<Index> indices = this.toIndices(entry.getValue(),
+				columnNumber -> columnNames.get(tabid, columnNumber));
+			if(!indices.isEmpty())
+			{
+				indicesMap.put(tableInfo.getName(), indices);
+				statistics.addObjects(InformixMetaDataPhase.INDICES, indices.size());
+			}
+		}
+	}
+	
+	List<Index> toIndices(
+		final List<InformixIndexDefinition> definitions,
+		final IntFunction<String> columnNames)
+	{
+		if(definitions == null)
+		{
+			return Collections.emptyList();
+		}
+		
+		final List<Index> indices = new ArrayList<>(definitions.size());
+		for(final InformixIndexDefinition definition : definitions)
+		{
+			final Index index = definition.toIndex(columnNames);
+			if(index != null)
+			{
+				indices.add(index);
+			}
+		}
+		return indices;
+	}
+	
+	/**
+	 * Reads the indices and primary keys from <code>sysindexes</code> and <code>sysconstraints</code>.
+	 *
+	 * @param tabids the tables to read the indices for, or <code>null</code> for all tables of the catalog
+	 * @return the index definitions by tabid, the primary key first
+	 */
+	private Map<String, List<InformixIndexDefinition>> loadIndexDefinitions(
+		final InformixStatementCache statements, final List<Integer> tabids,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		final Map<String, List<InformixIndexDefinition>> definitions = new HashMap<>();
+		if(tabids == null)
+		{
+			this.readIndexDefinitions(statements, null, definitions, statistics);
+		}
+		else
+		{
+			for(int from = 0; from < tabids.size(); from += CATALOG_IN_LIST_CHUNK_SIZE)
+			{
+				this.readIndexDefinitions(statements,
+					tabids.subList(from, Math.min(from + CATALOG_IN_LIST_CHUNK_SIZE, tabids.size())), definitions,
+					statistics);
+			}
+		}
+		return definitions;
+	}
+	
+	/**
+	 * Reads the index definitions of the tables with a tabid from <b>fromTabid</b> (inclusive) to <b>toTabid</b>
+	 * (exclusive).
+	 */
+	private static void readIndexDefinitions(
+		final InformixStatementCache statements, final int fromTabid, final int toTabid,
+		final Map<String, List<InformixIndexDefinition>> definitions,
+		final InformixMetaDataStatistics statistics) throws SQLException
+	{
+		final PreparedStatement statement = statements.prepare(createIndexDefinitionsSelect()
+			.append(" WHERE I.tabid >= ? AND I.tabid < ?").toString()); //$NON-NLS-1$
+		statement.setInt(1, fromTabid);
+		statement.setInt(2, toTabid);
+		
+		statistics.addRoundTrip(InformixMetaDataPhase.INDICES);
+		try(final ResultSet rs = statement.executeQuery())
+		{
+			readIndexDefinitions(rs, definitions, statistics);
 		}
 	}
 	
-	private void calculateIndices(
-		final int flags, final DatabaseMetaData meta, final String catalog, final String schema,
-		final Set<String> columnSet, final Map<String, List<Index>> indicesMap) throws Exception
+	private static StringBuilder createIndexDefinitionsSelect()
 	{
-		if((flags & INDICES) != 0)
+		final StringBuilder sql = new StringBuilder("SELECT I.tabid, I.idxname, I.idxtype, C.constrtype"); //$NON-NLS-1$
+		for(int part = 1; part <= InformixIndexDefinition.MAX_PARTS; part++)
 		{
-			final Set<String> primaryKeyColumns = new HashSet<>();
-			
-			try
-			{
-				this.getPrimaryKeys(meta, catalog, schema, columnSet, indicesMap);
-				this.getIndexInfos(meta, catalog, schema, columnSet, indicesMap, primaryKeyColumns);
-			}
-			catch(final Exception e)
-			{
-				throw e;
-			}
+			sql.append(", I.part").append(part); //$NON-NLS-1$
 		}
+		return sql.append(" FROM informix.sysindexes I LEFT JOIN informix.sysconstraints C") //$NON-NLS-1$
+			.append(" ON (C.tabid = I.tabid AND C.idxname = I.idxname AND C.constrtype = 'P')"); //$NON-NLS-1$
 	}
 	
-	private void getIndexInfos(
-		final DatabaseMetaData meta, final String catalog, final String schema,
-		final Set<String> columnSet, final Map<String, List<Index>> indicesMap,
-		final Set<String> primaryKeyColumns) throws SQLException
+	private void readIndexDefinitions(
+		final InformixStatementCache statements, final List<Integer> tabids,
+		final Map<String, List<InformixIndexDefinition>> definitions,
+		final InformixMetaDataStatistics statistics) throws SQLException
 	{
-		final ResultSet rs;
-		rs = meta.getIndexInfo(catalog, schema, null, false, true);
-		while(rs.next())
+		final StringBuilder sql = createIndexDefinitionsSelect();
+		final int size = tabids != null
+			? InformixStatementCache.inListSize(tabids.size(), CATALOG_IN_LIST_CHUNK_SIZE)
+			: 0;
+		if(tabids != null)
+		{
+			sql.append(" WHERE I.tabid IN (").append(createPlaceholders(size)).append(")"); //$NON-NLS-1$
+		}
+		
+		statistics.addRoundTrip(InformixMetaDataPhase.INDICES);
+		if(tabids != null)
 		{
-			final String indexName = rs.getString("INDEX_NAME"); //$NON-NLS-1$
-			final String columnName = rs.getString("COLUMN_NAME"); //$NON-NLS-1$
-			final String tableName = rs.getString("TABLE_NAME"); //$NON-NLS-1$
-			if(columnSet.contains(columnName) && indexName != null && columnName != null
-				&& !primaryKeyColumns.contains(columnName))
+			final PreparedStatement statement = statements.prepare(sql.toString());
+			bindInList(statement, 1, tabids, size);
+			try(final ResultSet rs = statement.executeQuery())
 			{
-				final boolean unique = !rs.getBoolean("NON_UNIQUE"); //$NON-NLS-1$
-				final IndexInfo info = new IndexInfo(indexName, unique ? IndexType.UNIQUE
-					: IndexType.NORMAL);
-				
-				if(indicesMap.containsKey(tableName))
-				{
-					final List<Index> list = indicesMap.get(tableName);
-					
-					for(final Index index : list)
-					{
-						if(index.getName().equalsIgnoreCase(info.name))
-						{
-							final String[] columns = index.getColumns();
-							final String[] newColumns = new String[columns.length + 1];
-							
-							int i = 0;
-							for(final String string : columns)
-							{
-								newColumns[i++] = string;
-							}
-							
-							newColumns[i] = columnName;
-							
-							index.setColumns(newColumns);
-						}
-					}
-				}
-				else
-				{
-					final List<Index> iList = new ArrayList<>();
-					iList.add(new Index(info.name, info.type, columnName));
-					indicesMap.put(tableName, iList);
-				}
+				readIndexDefinitions(rs, definitions, statistics);
+			}
+		}
+		else
+		{
+			try(final Statement statement = statements.createStatement();
+				final ResultSet rs = statement.executeQuery(sql.toString()))
+			{
+				readIndexDefinitions(rs, definitions, statistics);
 			}
 		}
-		rs.close();
 	}
 	
-	private void getPrimaryKeys(
-		final DatabaseMetaData meta, final String catalog, final String schema,
-		final Set<String> columnSet, final Map<String, List<Index>> indicesMap) throws SQLException
+	private static void readIndexDefinitions(
+		final ResultSet rs, final Map<String, List<InformixIndexDefinition>> definitions,
+		final InformixMetaDataStatistics statistics) throws SQLException
 	{
-		final ResultSet rs;
-		rs = meta.getPrimaryKeys(catalog, schema, null);
-		// add primary keys
+		final short[] parts = new short[InformixIndexDefinition.MAX_PARTS];
 		while(rs.next())
 		{
-			final String columnName = rs.getString("COLUMN_NAME"); //$NON-NLS-1$
-			final String tableName = rs.getString("TABLE_NAME"); //$NON-NLS-1$
+			statistics.addRows(InformixMetaDataPhase.INDICES, 1);
+			final String tabid = rs.getString(1);
+			final InformixIndexDefinition definition = readIndexDefinition(rs, 2, 3, 4, 5, parts);
 			
-			if(columnSet.contains(columnName))
+			List<InformixIndexDefinition> list = definitions.get(tabid);
+			if(list == null)
 			{
-				if(indicesMap.containsKey(tableName))
-				{
-					indicesMap.get(tableName).add(
-						new Index("PRIMARY_KEY", IndexType.PRIMARY_KEY, columnName)); //$NON-NLS-1$
-					final List<Index> list = indicesMap.get(tableName);
-					
-					for(final Index index : list)
-					{
-						final String[] columns = index.getColumns();
-						final String[] newColumns = new String[columns.length + 1];
-						
-						int i = 0;
-						for(final String string : columns)
-						{
-							newColumns[i++] = string;
-						}
-						
-						newColumns[i] = columnName;
-						
-						index.setColumns(newColumns);
-					}
-				}
-				else
-				{
-					final List<Index> iList = new ArrayList<>();
-					iList.add(new Index("PRIMARY_KEY", IndexType.PRIMARY_KEY, columnName)); //$NON-NLS-1$
-					indicesMap.put(tableName, iList);
-				}
+				list = new ArrayList<>();
+				definitions.put(tabid, list);
+			}
+			if(definition.getType() == IndexType.PRIMARY_KEY)
+			{
+				list.add(0, definition);
+			}
+			else
+			{
+				list.add(definition);
 			}
 		}
-		rs.close();
 	}
 	
-	private TableMetaData[] convToTableMetaData(
+	/**
+	 * @param exactCounts whether the counts in <b>countsMap</b> were determined with <code>count(*)</code>
+	 */
+	TableMetaData[] convToTableMetaData(
 		final Map<String, List<Index>> indicesMap,
 		final Map<String, TableInfo> tableInfoMap, final Map<String, List<ColumnMetaData>> columnsMap,
-		final Map<String, Integer> countsMap)
+		final Map<String, Integer> countsMap, final boolean exactCounts,
+		final InformixSynonyms synonyms)
 	{
-		TableMetaData[] tableMetaDatas = null;
-		if(this.isGetSynonym && this.synMap != null)
-		{
-			tableMetaDatas = new TableMetaData[tableInfoMap.size() + this.synMap.size()];
-		}
-		else
+		int size = tableInfoMap.size();
+		for(final String tabid : tableInfoMap.keySet())
 		{
-			tableMetaDatas = new TableMetaData[tableInfoMap.size()];
+			size += synonyms.getSynonyms(tabid).length;
 		}
+		final TableMetaData[] tableMetaDatas = new TableMetaData[size];
 		
 		int i = 0;
 		for(final Entry<String, TableInfo> entry : tableInfoMap.entrySet())
 		{
-			final String name = entry.getValue().getName();
+			final TableInfo tableInfo = entry.getValue();
+			final String name = tableInfo.getName();
 			final List<ColumnMetaData> columnsList = columnsMap.get(name);
 			final ColumnMetaData[] columns = columnsList.toArray(new ColumnMetaData[columnsList.size()]);
 			
 			final List<Index> indexList = indicesMap.get(name);
-			Index[] indices = new Index[0];
-			if(indexList != null)
-			{
-				indices = indexList.toArray(new Index[indexList.size()]);
-			}
+			final Index[] indices = indexList != null && !indexList.isEmpty()
+				? indexList.toArray(new Index[indexList.size()])
+				: NO_INDICES;
 			
 			int count = UNKNOWN_ROW_COUNT;
 			if(countsMap.containsKey(name))
 			{
 				count = countsMap.get(name);
 			}
+			final boolean exactCount = exactCounts && count != UNKNOWN_ROW_COUNT;
 			
-			if(this.isGetSynonym && this.synMap != null && this.synMap.containsKey(entry.getKey()))
-			{
-				// add original table
-				final TableInfo tableInfo = tableInfoMap.get(entry.getKey());
-				tableMetaDatas[i++] = new TableMetaData(tableInfo, columns, indices, count);
-				
-				// add synonym table
-				final TableInfo newTableInfo = new TableInfo(tableInfo.getType(), tableInfo.getSchema(),
-					this.synMap.get(entry.getKey()));
-				final TableMetaData newTableMetaData = new TableMetaData(newTableInfo, columns, indices,
-					count);
-				tableMetaDatas[i++] = newTableMetaData;
-			}
-			else
+			final TableMetaData table = new InformixTableMetaData(tableInfo, columns, indices, count, exactCount);
+			tableMetaDatas[i++] = table;
+			
+			for(final String synonym : synonyms.getSynonyms(entry.getKey()))
 			{
-				final TableMetaData tableMetaData = new TableMetaData(tableInfoMap.get(entry.getKey()),
-					columns, indices, count);
-				tableMetaDatas[i++] = tableMetaData;
+				final TableInfo synonymInfo = new TableInfo(tableInfo.getType(), tableInfo.getSchema(), synonym);
+				tableMetaDatas[i++] = InformixTableMetaData.copyOf(table, synonymInfo);
 			}
 		}
 		
 		return tableMetaDatas;
 	}
 	
-	private void requestStatementForTableMetaDatas(
-		final String[] castTypes, final IfxStatement statement,
-		final boolean filterSysTables) throws SQLException
+	/**
+	 * Returns the cached catalog query restricted to the given <b>tabids</b>, which are bound as an IN-list.
+	 */
+	private PreparedStatement requestStatementForTableMetaDatas(
+		final String[] castTypes, final InformixStatementCache statements,
+		final boolean filterSysTables, final List<Integer> tabids) throws SQLException
+	{
+		final int size = InformixStatementCache.inListSize(tabids.size(), CATALOG_IN_LIST_CHUNK_SIZE);
+		final String sql = this.createTableMetaDataSelect(castTypes, filterSysTables, size);
+		final PreparedStatement statement = statements.prepare(sql);
+		bindInList(statement, 1, tabids, size);
+		return statement;
+	}
+	
+	/**
+	 * @param tabidCount the number of tabid placeholders to restrict the query to, <code>0</code> for no restriction
+	 */
+	private String createTableMetaDataSelect(
+		final String[] castTypes, final boolean filterSysTables,
+		final int tabidCount)
 	{
 		
-		final StringBuffer sql = new StringBuffer(
-			"select T.tabname, T.tabtype, TC.colname, TC.collength, TC.coltype, TC.extended_id ,sdf.default, sdf.type,"
-				+ " TC.colmin, TC.colmax, T.tabid from informix.systables T LEFT JOIN informix.syscolumns TC ON TC"
-				+ ".tabid = T.tabid LEFT JOIN informix.sysdefaults sdf ON (TC.tabid = sdf.tabid AND TC.colno = sdf"
-				+ ".colno)"); //$NON-NLS-1$
+		final StringBuilder sql = new StringBuilder(
+			"select T.tabname, T.tabtype, TC.colno, TC.colname, TC.collength, TC.coltype, TC.extended_id, sdf.default,"
+				+ " sdf.type,"
+				+ " TC.colmin, TC.colmax, T.tabid, " + NROWS_SQL + " from informix.systables T"
+				+ " LEFT JOIN informix.syscolumns TC ON TC.tabid = T.tabid"
+				+ " LEFT JOIN informix.sysdefaults sdf"
+				+ " ON (TC.tabid = sdf.tabid AND TC.colno = sdf.colno)"); //$NON-NLS-1$
+		
+		final List<String> conditions = new ArrayList<>();
 		if(filterSysTables)
 		{
-			sql.append(" WHERE T.tabid > 99"); //$NON-NLS-1$
+			conditions.add("T.tabid > 99"); //$NON-NLS-1$
+		}
+		
+		if(tabidCount > 0)
+		{
+			conditions.add("T.tabid IN (" + createPlaceholders(tabidCount) + ")"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 		
 		if(castTypes != null && castTypes.length > 0)
 		{
-			if(filterSysTables)
-			{
-				sql.append(" AND ("); //$NON-NLS-1$
-			}
-			else
+			// synonyms have no columns of their own, they are read through their base tables
+			final Set<Character> tabtypes = new LinkedHashSet<>();
+			for(final String type : castTypes)
 			{
-				sql.append(" WHERE ("); //$NON-NLS-1$
+				if(type.equals("SYNONYM")) //$NON-NLS-1$
+				{
+					tabtypes.add('T');
+					tabtypes.add('V');
+				}
+				else
+				{
+					tabtypes.add(type.charAt(0));
+				}
 			}
 			
-			int i = 0;
-			for(final String type : castTypes)
+			final StringBuilder typeCondition = new StringBuilder("("); //$NON-NLS-1$
+			for(final Character tabtype : tabtypes)
 			{
-				
-				if(!type.equals("SYNONYM")) //$NON-NLS-1$
+				if(typeCondition.length() > 1)
 				{
-					if(i++ > 0)
-					{
-						sql.append(" OR "); //$NON-NLS-1$
-					}
-					sql.append("T.tabtype='" + type.toCharArray()[0] + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+					typeCondition.append(" OR "); //$NON-NLS-1$
 				}
+				typeCondition.append("T.tabtype='").append(tabtype).append('\''); //$NON-NLS-1$
 			}
-			sql.append(")"); //$NON-NLS-1$
+			conditions.add(typeCondition.append(')').toString());
+		}
+		conditions.add("(sdf.colno is null OR sdf.colno=TC.colno)"); //$NON-NLS-1$
+		
+		for(int i = 0; i < conditions.size(); i++)
+		{
+			sql.append(i == 0 ? " WHERE " : " AND ").append(conditions.get(i)); //$NON-NLS-1$ //$NON-NLS-2$
 		}
-		sql.append(" AND (sdf.colno is null OR sdf.colno=TC.colno)"); //$NON-NLS-1$
 		
-		statement.executeQuery(sql.toString(), false);
+		return sql.toString();
 	}
 	
-	private void parseResultToMaps(
+	/**
+	 * @return the number of rows read
+	 */
+	int parseResultToMaps(
 		final String schema, final ResultSet rs,
 		final Map<String, List<ColumnMetaData>> columnsMap, final Map<String, TableInfo> tableInfoMap,
-		final Set<String> columnSet) throws Exception
+		final InformixColumnKeyMap columnNames,
+		final Map<String, Integer> statisticsMap) throws Exception
 	{
 		TableType tableType;
 		TableInfo tableInfo;
 		String tableName = ""; //$NON-NLS-1$
+		int tabid = 0;
+		int rows = 0;
 		
 		while(rs.next())
 		{
+			rows++;
 			
-			if(!tableName.equalsIgnoreCase(rs.getString("tabname"))) //$NON-NLS-1$
+			final String rowTableName = rs.getString(CATALOG_TABNAME);
+			if(!tableName.equalsIgnoreCase(rowTableName))
 			{
-				
-				tableName = rs.getString("tabname"); //$NON-NLS-1$
-				final String typePrefix = rs.getString("tabtype"); //$NON-NLS-1$
-				final String tabid = rs.getString("tabid"); //$NON-NLS-1$
+				tableName = rowTableName;
+				final String typePrefix = rs.getString(CATALOG_TABTYPE);
+				tabid = rs.getInt(CATALOG_TABID);
 				tableType = this.getTableType(typePrefix);
 				tableInfo = new TableInfo(tableType, schema, tableName);
-				tableInfoMap.put(tabid, tableInfo);
-			}
-			
-			final String columnName = rs.getString("colname"); //$NON-NLS-1$
-			columnSet.add(columnName);
-			final int colType = rs.getInt("coltype"); //$NON-NLS-1$
-			int collength = rs.getShort("collength"); //$NON-NLS-1$
-			final short transformedColType = (short)(colType & 0xFF);
-			
-			final String colDefault = this.getColumnDefaultValue(rs);
-			
-			final int columnType = (short)IfxTypes.FromIfxToJDBCType(transformedColType);
-			final DataType columnDataType = DataType.get(columnType);
-			
-			final boolean isAutoIncrement = this.isAutoIncrement(transformedColType, columnDataType);
-			
-			final boolean nullable = this.isNullAllowed(colType);
-			
-			int scale = 0;
-			
-			if(columnDataType == DataType.DECIMAL)
-			{
-				if((collength % 256) == 255)
-				{
-					/* Floating point. */
-					scale = collength % 256;
-				}
-				else
+				tableInfoMap.put(String.valueOf(tabid), tableInfo);
+				
+				final int estimate = readRowCountEstimate(rs, CATALOG_NROWS, tableType);
+				if(estimate != UNKNOWN_ROW_COUNT)
 				{
-					/* Fixed point. */
-					scale = collength % 256;
-					collength = collength / 256;
+					statisticsMap.put(tableName, estimate);
 				}
 			}
-			else if(columnDataType == DataType.TIMESTAMP)
-			{
-				final int firstQualifier = IfxDateTime.getStartCode((short)collength);
-				final int lastQualifier = IfxDateTime.getEndCode((short)collength);
-				
-				collength = (collength - (firstQualifier * 16) - lastQualifier) / 256;
-			}
 			
-			this.addToColumnsMap(columnsMap, tableName, columnName, collength, colDefault, columnDataType,
-				isAutoIncrement, nullable, scale);
+			final ColumnMetaData column = readColumn(rs, tableName, CATALOG_COLNAME, CATALOG_DEFAULT);
+			columnNames.put(tabid, rs.getShort(CATALOG_COLNO), column.getName());
+			this.addToColumnsMap(columnsMap, tableName, column);
 		}
+		return rows;
 	}
 	
-	private void addToColumnsMap(
-		final Map<String, List<ColumnMetaData>> columnsMap, final String tableName,
-		final String columnName, final int collength, final String colDefault, final DataType columnDataType,
-		final boolean isAutoIncrement, final boolean nullable, final int scale)
+	/**
+	 * Decodes the <code>sysindexes</code> row at the given column positions, the primary key is identified by a non
+	 * null constraint type.
+	 */
+	private static InformixIndexDefinition readIndexDefinition(
+		final ResultSet rs, final int nameColumn, final int typeColumn,
+		final int constraintColumn, final int firstPartColumn, final short[] parts) throws SQLException
 	{
-		final List<ColumnMetaData> columns;
-		if(columnsMap.containsKey(tableName))
+		final boolean primaryKey = rs.getString(constraintColumn) != null;
+		final IndexType type;
+		final String name;
+		if(primaryKey)
 		{
-			// caption is set to columnName
-			columnsMap.get(tableName).add(
-				new ColumnMetaData(tableName, columnName, columnName, columnDataType, collength,
-					scale, colDefault, nullable, isAutoIncrement));
+			type = IndexType.PRIMARY_KEY;
+			name = "PRIMARY_KEY"; //$NON-NLS-1$
 		}
 		else
 		{
-			columns = new ArrayList<>();
-			columns.add(new ColumnMetaData(tableName, columnName, columnName, columnDataType,
-				collength, scale, colDefault, nullable, isAutoIncrement));
-			columnsMap.put(tableName, columns);
+			type = "U".equalsIgnoreCase(rs.getString(typeColumn).trim()) //$NON-NLS-1$
+				? IndexType.UNIQUE
+				: IndexType.NORMAL;
+			name = rs.getString(nameColumn);
+		}
+		
+		int count = 0;
+		for(int part = 0; part < InformixIndexDefinition.MAX_PARTS; part++)
+		{
+			// descending index columns have a negative column number
+			final short columnNumber = (short)Math.abs(rs.getShort(firstPartColumn + part));
+			if(columnNumber != 0)
+			{
+				parts[count++] = columnNumber;
+			}
 		}
+		
+		return new InformixIndexDefinition(name, type, Arrays.copyOf(parts, count));
 	}
 	
-	private boolean isAutoIncrement(final short transformedColType, final DataType columnDataType)
+	/**
+	 * @return <code>systables.nrows</code> of the current row, or {@link #UNKNOWN_ROW_COUNT} if it is not a table
+	 * or has no statistics
+	 */
+	private static int readRowCountEstimate(final ResultSet rs, final int nrowsColumn, final TableType tableType)
+		throws SQLException
 	{
-		boolean isAutoIncrement = false;
-		if(columnDataType == DataType.INTEGER)
+		if(tableType == TableType.TABLE)
 		{
-			
-			isAutoIncrement = transformedColType == IfxTypes.IFX_TYPE_SERIAL
-				|| transformedColType == IfxTypes.IFX_TYPE_SERIAL8;
+			// nrows is only maintained by UPDATE STATISTICS, NULL without statistics (see NROWS_SQL)
+			final double nrows = rs.getDouble(nrowsColumn);
+			if(!rs.wasNull())
+			{
+				return (int)Math.min(nrows, Integer.MAX_VALUE);
+			}
 		}
-		return isAutoIncrement;
+		return UNKNOWN_ROW_COUNT;
+	}
+	
+	/**
+	 * Decodes the column of the current row, <code>colname</code>, <code>collength</code> and <code>coltype</code>
+	 * are the consecutive columns from <b>nameColumn</b>, <code>sysdefaults.default</code> and
+	 * <code>sysdefaults.type</code> the ones from <b>defaultColumn</b>.
+	 */
+	private static ColumnMetaData readColumn(
+		final ResultSet rs, final String tableName,
+		final int nameColumn, final int defaultColumn) throws SQLException
+	{
+		final String columnName = rs.getString(nameColumn);
+		final int collength = rs.getShort(nameColumn + 1);
+		final int colType = rs.getInt(nameColumn + 2);
+		final String colDefault = decodeColumnDefault(rs.getString(defaultColumn + 1), rs.getString(defaultColumn));
+		
+		final DataType dataType = InformixColumnTypes.getDataType(colType);
+		
+		// caption is set to columnName
+		return new ColumnMetaData(tableName, columnName, columnName, dataType,
+			InformixColumnTypes.getLength(dataType, collength), InformixColumnTypes.getScale(dataType, collength),
+			colDefault, InformixColumnTypes.isNullable(colType), InformixColumnTypes.isAutoIncrement(colType));
 	}
 	
-	private String getColumnDefaultValue(final ResultSet rs) throws Exception
+	private void addToColumnsMap(
+		final Map<String, List<ColumnMetaData>> columnsMap, final String tableName,
+		final ColumnMetaData column)
 	{
-		String colDefault = null;
-		String defaultType = null;
-		try
+		List<ColumnMetaData> columns = columnsMap.get(tableName);
+		if(columns == null)
 		{
-			defaultType = rs.getString("type"); //$NON-NLS-1$
-			colDefault = rs.getString("default"); //$NON-NLS-1$
+			columns = new ArrayList<>();
+			columnsMap.put(tableName, columns);
 		}
-		catch(final SQLException e)
+		columns.add(column);
+	}
+	
+	/**
+	 * @return the default value of a <code>sysdefaults</code> row: none for a <code>NULL</code> default, the
+	 *         second word of a literal default if there is one
+	 */
+	static String decodeColumnDefault(final String defaultType, final String colDefault)
+	{
+		if(colDefault == null || defaultType.length() != 1)
 		{
-			final String err = "ResultSet cannot return value. defaultType=" + defaultType //$NON-NLS-1$
-				+ " and colDefault=" + colDefault; //$NON-NLS-1$
-			LOGGER.error(err, e);
-			throw new Exception(err, e);
+			return colDefault;
 		}
 		
-		if(colDefault != null)
+		switch(defaultType.charAt(0))
 		{
-			if(defaultType.equalsIgnoreCase("n")) //$NON-NLS-1$
-			{
-				colDefault = null;
-			}
-			else if(defaultType.equalsIgnoreCase("l")) //$NON-NLS-1$
-			{
-				
-				final String[] split = colDefault.split(" "); //$NON-NLS-1$
-				if(split.length == 1)
+			case 'n':
+			case 'N':
+				return null;
+			
+			case 'l':
+			case 'L':
+				// same result as colDefault.split(" ")[1], without the array
+				final int separator = colDefault.indexOf(' ');
+				if(separator < 0)
 				{
-					colDefault = split[0];
+					return colDefault;
 				}
-				else
+				final int start = separator + 1;
+				int end = colDefault.indexOf(' ', start);
+				if(end < 0)
 				{
-					colDefault = split[1];
+					end = colDefault.length();
 				}
-			}
+				if(end == start && colDefault.trim().length() == separator)
+				{
+					// only trailing blanks, split drops the empty words
+					return colDefault.substring(0, separator);
+				}
+				return colDefault.substring(start, end);
+			
+			default:
+				return colDefault;
 		}
-		return colDefault;
-	}
-	
-	private boolean isNullAllowed(final int colType)
-	{
-		return (colType & 0x100) != 256;
 	}
 	
 	private TableType getTableType(final String typePrefix)
@@ -1193,102 +2484,215 @@ public class InformixJDBCMetaData extends JDBCMetaData
 		final ProgressMonitor monitor,
 		final TableInfo... tableInfos) throws DBException
 	{
-		monitor.beginTask("", tableInfos.length); //$NON-NLS-1$
+		final InformixMetaDataCache cache = this.getMetaDataCache();
+		if(cache == null)
+		{
+			return toEntityRelationshipModel(this.loadRelationships(monitor, tableInfos));
+		}
 		
+		// the model is mutable, the cache keeps a copy of its relationships and every caller gets a model of its own
+		final TableInfo[] sorted = tableInfos.clone();
+		Arrays.sort(sorted);
+		final String key = "erm:" + Arrays.toString(sorted); //$NON-NLS-1$
+		EntityRelationship[] relationships = (EntityRelationship[])cache.getResult(key);
+		if(relationships == null)
+		{
+			relationships = this.loadRelationships(monitor, tableInfos);
+			if(!monitor.isCanceled())
+			{
+				cache.putResult(key, relationships);
+			}
+		}
+		return toEntityRelationshipModel(relationships);
+	}
+	
+	private static EntityRelationshipModel toEntityRelationshipModel(final EntityRelationship[] relationships)
+	{
 		final EntityRelationshipModel model = new EntityRelationshipModel();
+		for(final EntityRelationship relationship : relationships)
+		{
+			model.add(relationship);
+		}
+		return model;
+	}
+	
+	/**
+	 * Reads the foreign keys in <code>sysreferences</code>, one IN-list query per chunk of referencing tables.
+	 */
+	private EntityRelationship[] loadRelationships(
+		final ProgressMonitor monitor,
+		final TableInfo... tableInfos) throws DBException
+	{
+		monitor.beginTask("", tableInfos.length); //$NON-NLS-1$
 		
-		try
+		final List<EntityRelationship> relationships = new ArrayList<>();
+		
+		// the catalog stores undelimited names in lower case
+		final Set<String> tables = new HashSet<>();
+		for(final TableInfo table : tableInfos)
 		{
-			final List<String> tables = new ArrayList<>();
-			for(final TableInfo table : tableInfos)
+			if(table.getType() == TableType.TABLE)
 			{
-				if(table.getType() == TableType.TABLE)
-				{
-					tables.add(table.getName());
-				}
+				tables.add(InformixMetaDataCache.nameKey(table.getName()));
 			}
-			Collections.sort(tables);
-			
+		}
+		monitor.worked(tableInfos.length - tables.size());
+		
+		try
+		{
 			final ConnectionProvider<?> connectionProvider = this.dataSource.getConnectionProvider();
-			final Connection connection = connectionProvider.getConnection();
-			
-			ResultSet exportedKeys = null;
 			
-			try
+			try(final Connection connection = connectionProvider.getConnection();
+				final InformixStatementCache statements = InformixStatementCache.of(connection))
 			{
-				final DatabaseMetaData meta = connection.getMetaData();
-				final String catalog = this.getCatalog(this.dataSource);
-				final String schema = this.getSchema(this.dataSource);
-				int done = 0;
-				
-				exportedKeys = meta.getExportedKeys(catalog, schema, "%"); //$NON-NLS-1$
-				
-				String pkTable = null;
-				String fkTable = null;
-				final List<String> pkColumns = new ArrayList<>();
-				final List<String> fkColumns = new ArrayList<>();
-				while(exportedKeys.next())
+				final List<String> tableList = new ArrayList<>(tables);
+				for(int from = 0; from < tableList.size() && !monitor.isCanceled(); from += CATALOG_IN_LIST_CHUNK_SIZE)
 				{
-					
-					if(monitor.isCanceled())
-					{
-						continue;
-					}
-					
-					pkTable = exportedKeys.getString("PKTABLE_NAME"); //$NON-NLS-1$
-					fkTable = exportedKeys.getString("FKTABLE_NAME"); //$NON-NLS-1$
-					monitor.setTaskName(pkTable);
-					
-					final short keySeq = exportedKeys.getShort("KEY_SEQ"); //$NON-NLS-1$
-					
-					if(keySeq == 1 && pkColumns.size() > 0)
-					{
-						if(tables.contains(pkTable) && tables.contains(fkTable))
-						{
-							model.add(new EntityRelationship(
-								new Entity(pkTable, pkColumns
-									.toArray(new String[pkColumns.size()]), Cardinality.ONE),
-								new Entity(fkTable, fkColumns.toArray(new String[fkColumns
-									.size()]), Cardinality.MANY)));
-							pkColumns.clear();
-							fkColumns.clear();
-						}
-					}
-					
-					pkColumns.add(exportedKeys.getString("PKCOLUMN_NAME")); //$NON-NLS-1$
-					fkColumns.add(exportedKeys.getString("FKCOLUMN_NAME")); //$NON-NLS-1$
+					final List<String> chunk = tableList.subList(from,
+						Math.min(from + CATALOG_IN_LIST_CHUNK_SIZE, tableList.size()));
+					readRelationships(statements, chunk, tables, relationships, monitor);
+					monitor.worked(chunk.size());
 				}
-				if(pkColumns.size() > 0)
+			}
+		}
+		catch(final SQLException e)
+		{
+			throw new DBException(this.dataSource, e);
+		}
+		
+		monitor.done();
+		
+		return relationships.toArray(new EntityRelationship[relationships.size()]);
+	}
+	
+	/**
+	 * Adds the relationships of the referencing tables <b>fkTables</b> whose referenced table is in <b>tables</b>,
+	 * both given as {@link InformixMetaDataCache#nameKey(String) name keys}.
+	 */
+	private static void readRelationships(
+		final InformixStatementCache statements, final List<String> fkTables,
+		final Set<String> tables, final List<EntityRelationship> relationships,
+		final ProgressMonitor monitor) throws SQLException
+	{
+		final int size = InformixStatementCache.inListSize(fkTables.size(), CATALOG_IN_LIST_CHUNK_SIZE);
+		final PreparedStatement statement = statements.prepare(RELATIONSHIPS_SELECT
+			+ " WHERE FT.tabname IN (" + createPlaceholders(size) + ") ORDER BY 1, 4"); //$NON-NLS-1$ //$NON-NLS-2$
+		bindInList(statement, 1, fkTables, size);
+		
+		try(final ResultSet rs = statement.executeQuery())
+		{
+			int constrid = 0;
+			String pkTable = null;
+			String fkTable = null;
+			final List<String> pkColumns = new ArrayList<>();
+			final List<String> fkColumns = new ArrayList<>();
+			while(rs.next() && !monitor.isCanceled())
+			{
+				final int rowConstrid = rs.getInt(1);
+				if(rowConstrid != constrid)
 				{
-					if(tables.contains(pkTable) && tables.contains(fkTable))
+					addRelationship(pkTable, pkColumns, fkTable, fkColumns, relationships, monitor);
+					constrid = rowConstrid;
+					pkTable = rs.getString(2);
+					fkTable = rs.getString(3);
+					if(!tables.contains(InformixMetaDataCache.nameKey(pkTable)))
 					{
-						model.add(new EntityRelationship(new Entity(pkTable, pkColumns
-							.toArray(new String[pkColumns.size()]), Cardinality.ONE), new Entity(
-							fkTable, fkColumns.toArray(new String[fkColumns.size()]),
-							Cardinality.MANY)));
-						pkColumns.clear();
-						fkColumns.clear();
+						pkTable = null;
 					}
 				}
 				
-				monitor.worked(++done);
-			}
-			finally
-			{
-				if(exportedKeys != null)
+				if(pkTable != null)
 				{
-					exportedKeys.close();
+					pkColumns.add(rs.getString(5));
+					fkColumns.add(rs.getString(6));
 				}
-				connection.close();
 			}
+			addRelationship(pkTable, pkColumns, fkTable, fkColumns, relationships, monitor);
 		}
-		catch(final SQLException e)
+	}
+	
+	private static void addRelationship(
+		final String pkTable, final List<String> pkColumns,
+		final String fkTable, final List<String> fkColumns,
+		final List<EntityRelationship> relationships, final ProgressMonitor monitor)
+	{
+		if(pkTable != null && pkColumns.size() > 0)
 		{
-			throw new DBException(this.dataSource, e);
+			monitor.setTaskName(pkTable);
+			relationships.add(new EntityRelationship(
+				new Entity(pkTable, pkColumns.toArray(new String[pkColumns.size()]), Cardinality.ONE),
+				new Entity(fkTable, fkColumns.toArray(new String[fkColumns.size()]), Cardinality.MANY)));
 		}
+		pkColumns.clear();
+		fkColumns.clear();
+	}
+	
+	/**
+	 * One row per column pair of a foreign key: constraint id, referenced table, referencing table, position,
+	 * referenced column and referencing column. The columns of both constraint indices are paired by position.
+	 */
+	private static String createRelationshipsSelect()
+	{
+		final StringBuilder sb = new StringBuilder(2048);
+		sb.append("SELECT R.constrid, PT.tabname, FT.tabname, CASE FC.colno"); //$NON-NLS-1$
+		for(int part = 1; part <= InformixIndexDefinition.MAX_PARTS; part++)
+		{
+			sb.append(" WHEN ABS(FI.part").append(part).append(") THEN ").append(part); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		sb.append(" END, PC.colname, FC.colname FROM informix.sysreferences R") //$NON-NLS-1$
+			.append(" INNER JOIN informix.sysconstraints FK ON FK.constrid = R.constrid") //$NON-NLS-1$
+			.append(" INNER JOIN informix.sysconstraints PK ON PK.constrid = R.primary") //$NON-NLS-1$
+			.append(" INNER JOIN informix.systables FT ON FT.tabid = FK.tabid") //$NON-NLS-1$
+			.append(" INNER JOIN informix.systables PT ON PT.tabid = PK.tabid") //$NON-NLS-1$
+			.append(" INNER JOIN informix.sysindexes FI") //$NON-NLS-1$
+			.append(" ON FI.tabid = FK.tabid AND FI.idxname = FK.idxname") //$NON-NLS-1$
+			.append(" INNER JOIN informix.sysindexes PI") //$NON-NLS-1$
+			.append(" ON PI.tabid = PK.tabid AND PI.idxname = PK.idxname") //$NON-NLS-1$
+			.append(" INNER JOIN informix.syscolumns FC ON FC.tabid = FK.tabid AND FC.colno IN ("); //$NON-NLS-1$
+		for(int part = 1; part <= InformixIndexDefinition.MAX_PARTS; part++)
+		{
+			sb.append(part > 1 ? ", " : "").append("ABS(FI.part").append(part).append(')'); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		sb.append(") INNER JOIN informix.syscolumns PC") //$NON-NLS-1$
+			.append(" ON PC.tabid = PK.tabid AND PC.colno = CASE FC.colno"); //$NON-NLS-1$
+		for(int part = 1; part <= InformixIndexDefinition.MAX_PARTS; part++)
+		{
+			sb.append(" WHEN ABS(FI.part").append(part).append(") THEN ABS(PI.part") //$NON-NLS-1$ //$NON-NLS-2$
+				.append(part).append(')');
+		}
+		return sb.append(" END").toString(); //$NON-NLS-1$
+	}
+	
+	/**
+	 * One row of <code>sysprocedures</code> while loading stored procedures.
+	 */
+	private static final class ProcedureRow
+	{
+		final int procid;
+		final String owner;
+		final String procname;
+		final String isproc;
+		/**
+		 * Signature of the row, <code>sysprocedures</code> has no version column.
+		 */
+		final String version;
+		final List<String> paramNames = new ArrayList<>();
+		String paramTypes;
+		String paramIds;
+		String retTypes;
+		String retIds;
+		StoredProcedure procedure;
 		
-		monitor.done();
-		
-		return model;
+		ProcedureRow(
+			final int procid, final String owner, final String procname,
+			final String isproc, final String signature)
+		{
+			this.procid = procid;
+			this.owner = owner;
+			this.procname = procname;
+			this.isproc = isproc;
+			this.version = owner + "." + procname //$NON-NLS-1$
+				+ ":" + isproc + ":" + signature; //$NON-NLS-1$ //$NON-NLS-2$
+		}
 	}
 }
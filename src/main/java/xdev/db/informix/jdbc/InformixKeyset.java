@@ -0,0 +1,174 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+
+/**
+ * A unique sort key for keyset (seek) pagination. The next page is selected with a condition on the key of the last
+ * row of the previous one, so it costs the same as the first, unlike <code>SKIP</code> which reads and discards all
+ * preceding rows. Informix does not compare row values, the condition is expanded into the equivalent
+ * <code>(k1 &gt; ? OR (k1 = ? AND k2 &gt; ?))</code>.
+ * <p>
+ * The key columns must not be <code>NULL</code>.
+ *
+ * @see InformixDMLAssembler#assembleKeysetSELECT(String, InformixKeyset, int, boolean)
+ */
+public final class InformixKeyset
+{
+	private final String[] columns;
+	private final String condition;
+	private final String orderBy;
+	
+	/**
+	 * Creates an ascending key of <b>columns</b>.
+	 */
+	public InformixKeyset(final String... columns)
+	{
+		this(columns, new boolean[columns.length]);
+	}
+	
+	/**
+	 * @param descending the sort direction of each column
+	 */
+	public InformixKeyset(final String[] columns, final boolean[] descending)
+	{
+		if(columns.length == 0 || columns.length != descending.length)
+		{
+			throw new IllegalArgumentException(
+				"Columns and directions must be non empty and of the same length"); //$NON-NLS-1$
+		}
+		
+		this.columns = columns.clone();
+		this.condition = createCondition(this.columns, descending);
+		this.orderBy = createOrderBy(this.columns, descending);
+	}
+	
+	private static String createCondition(final String[] columns, final boolean[] descending)
+	{
+		final StringBuilder sb = new StringBuilder("("); //$NON-NLS-1$
+		for(int i = 0; i < columns.length; i++)
+		{
+			if(i > 0)
+			{
+				sb.append(" OR ("); //$NON-NLS-1$
+			}
+			for(int j = 0; j < i; j++)
+			{
+				sb.append(columns[j]).append(" = ? AND "); //$NON-NLS-1$
+			}
+			sb.append(columns[i]).append(descending[i] ? " < ?" : " > ?"); //$NON-NLS-1$ //$NON-NLS-2$
+			if(i > 0)
+			{
+				sb.append(')');
+			}
+		}
+		return sb.append(')').toString();
+	}
+	
+	private static String createOrderBy(final String[] columns, final boolean[] descending)
+	{
+		final StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < columns.length; i++)
+		{
+			if(i > 0)
+			{
+				sb.append(", "); //$NON-NLS-1$
+			}
+			sb.append(columns[i]);
+			if(descending[i])
+			{
+				sb.append(" DESC"); //$NON-NLS-1$
+			}
+		}
+		return sb.toString();
+	}
+	
+	public int getColumnCount()
+	{
+		return this.columns.length;
+	}
+	
+	/**
+	 * @return the condition selecting the rows after the last key, see
+	 *         {@link #bind(PreparedStatement, int, Object...)}
+	 */
+	public String getCondition()
+	{
+		return this.condition;
+	}
+	
+	/**
+	 * @return the <code>ORDER BY</code> list the pages are based on
+	 */
+	public String getOrderBy()
+	{
+		return this.orderBy;
+	}
+	
+	/**
+	 * @return the number of parameters of {@link #getCondition()}
+	 */
+	public int getParameterCount()
+	{
+		final int count = this.columns.length;
+		return count * (count + 1) / 2;
+	}
+	
+	/**
+	 * @return the key of the current row of <b>rs</b>, i.e. the last key when called for the last row of a page
+	 */
+	public Object[] getKey(final ResultSet rs) throws SQLException
+	{
+		final Object[] key = new Object[this.columns.length];
+		for(int i = 0; i < key.length; i++)
+		{
+			key[i] = rs.getObject(this.columns[i]);
+		}
+		return key;
+	}
+	
+	/**
+	 * Binds the parameters of {@link #getCondition()} starting at <b>parameterIndex</b>.
+	 *
+	 * @param lastKey the values of the key columns of the last row of the previous page
+	 * @return the index of the next parameter
+	 */
+	public int bind(final PreparedStatement statement, final int parameterIndex, final Object... lastKey)
+		throws SQLException
+	{
+		if(lastKey.length != this.columns.length)
+		{
+			throw new IllegalArgumentException("Expected " + this.columns.length //$NON-NLS-1$
+				+ " key values, got " + lastKey.length); //$NON-NLS-1$
+		}
+		
+		int index = parameterIndex;
+		for(int i = 0; i < lastKey.length; i++)
+		{
+			for(int j = 0; j <= i; j++)
+			{
+				statement.setObject(index++, lastKey[j]);
+			}
+		}
+		return index;
+	}
+}
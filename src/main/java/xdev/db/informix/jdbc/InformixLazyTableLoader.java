@@ -0,0 +1,219 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import xdev.db.DBException;
+import xdev.db.DBMetaData;
+import xdev.db.DBMetaData.TableInfo;
+import xdev.db.DBMetaData.TableMetaData;
+import xdev.util.ProgressMonitor;
+import xdev.util.logging.LoggerFactory;
+import xdev.util.logging.XdevLogger;
+
+
+/**
+ * Loads the details of {@link InformixLazyTableMetaData} skeletons. Touching one table loads it together with the
+ * not yet loaded tables around it, with one catalog query per batch. A table whose batch fails to load is tried
+ * again on its next access, after {@value #MAX_LOAD_ATTEMPTS} failed attempts its skeleton stays empty.
+ */
+final class InformixLazyTableLoader
+{
+	static final int MAX_LOAD_ATTEMPTS = 3;
+	
+	private static final XdevLogger LOGGER = LoggerFactory.getLogger(InformixLazyTableLoader.class);
+	
+	private final InformixJDBCMetaData metaData;
+	private final int flags;
+	private final int batchSize;
+	private final InformixLazyTableMetaData[] tables;
+	private final int[] failedLoads;
+	
+	private InformixLazyTableLoader(
+		final InformixJDBCMetaData metaData, final int flags,
+		final int batchSize, final TableInfo[] tableInfos)
+	{
+		this.metaData = metaData;
+		this.flags = flags;
+		this.batchSize = Math.max(1, batchSize);
+		this.tables = new InformixLazyTableMetaData[tableInfos.length];
+		this.failedLoads = new int[tableInfos.length];
+		for(int i = 0; i < tableInfos.length; i++)
+		{
+			this.tables[i] = new InformixLazyTableMetaData(tableInfos[i], this, i);
+		}
+	}
+	
+	/**
+	 * @return the skeletons of <b>tableInfos</b>, in the same order
+	 */
+	static TableMetaData[] createSkeletons(
+		final InformixJDBCMetaData metaData, final int flags,
+		final int batchSize, final TableInfo[] tableInfos)
+	{
+		final InformixLazyTableLoader loader = new InformixLazyTableLoader(metaData, flags, batchSize, tableInfos);
+		final TableMetaData[] result = new TableMetaData[loader.tables.length];
+		System.arraycopy(loader.tables, 0, result, 0, result.length);
+		return result;
+	}
+	
+	/**
+	 * Loads the table at <b>position</b> and its neighbours which are not loaded yet.
+	 *
+	 * @return the loaded table, <code>null</code> if the load failed
+	 */
+	synchronized TableMetaData load(final int position)
+	{
+		final InformixLazyTableMetaData table = this.tables[position];
+		if(!table.isLoaded())
+		{
+			this.loadBatch(this.collectBatch(position));
+		}
+		return table.getDelegate();
+	}
+	
+	/**
+	 * @return up to {@link #batchSize} unloaded tables of the window around <b>position</b>, the requested one
+	 *         first
+	 */
+	private List<InformixLazyTableMetaData> collectBatch(final int position)
+	{
+		final int from = Math.max(0, Math.min(position - this.batchSize / 2, this.tables.length - this.batchSize));
+		final int to = Math.min(this.tables.length, from + this.batchSize);
+		
+		final List<InformixLazyTableMetaData> batch = new ArrayList<>(to - from);
+		batch.add(this.tables[position]);
+		for(int i = from; i < to; i++)
+		{
+			if(i != position && !this.tables[i].isLoaded())
+			{
+				batch.add(this.tables[i]);
+			}
+		}
+		return batch;
+	}
+	
+	private void loadBatch(final List<InformixLazyTableMetaData> batch)
+	{
+		final TableInfo[] tableInfos = new TableInfo[batch.size()];
+		for(int i = 0; i < tableInfos.length; i++)
+		{
+			tableInfos[i] = batch.get(i).getTableInfo();
+		}
+		
+		final Map<String, List<TableMetaData>> byName = new HashMap<>();
+		try
+		{
+			// the load is triggered by a getter, long after the caller's monitor has finished
+			for(final TableMetaData tableMetaData : this.metaData.getTableMetaData(new DeferredLoadMonitor(),
+				this.flags, tableInfos))
+			{
+				if(tableMetaData != null)
+				{
+					byName.computeIfAbsent(InformixMetaDataCache.nameKey(tableMetaData.getTableInfo().getName()),
+						key -> new ArrayList<>(1)).add(tableMetaData);
+				}
+			}
+		}
+		catch(final DBException e)
+		{
+			LOGGER.error("Cannot load table metadata of " + tableInfos[0].getName(), e); //$NON-NLS-1$
+			for(final InformixLazyTableMetaData table : batch)
+			{
+				if(++this.failedLoads[table.getPosition()] >= MAX_LOAD_ATTEMPTS)
+				{
+					table.setDelegate(empty(table.getTableInfo()));
+				}
+			}
+			return;
+		}
+		
+		for(final InformixLazyTableMetaData table : batch)
+		{
+			final TableMetaData tableMetaData = find(byName, table.getTableInfo());
+			// a table dropped in the meantime keeps its empty skeleton
+			table.setDelegate(tableMetaData != null ? tableMetaData : empty(table.getTableInfo()));
+		}
+	}
+	
+	/**
+	 * @return the loaded table of the name of <b>tableInfo</b> and, if both have one, its schema; the loaded
+	 *         tables carry the schema of the data source, which the requested ones usually lack
+	 */
+	private static TableMetaData find(final Map<String, List<TableMetaData>> byName, final TableInfo tableInfo)
+	{
+		final List<TableMetaData> candidates = byName.get(InformixMetaDataCache.nameKey(tableInfo.getName()));
+		if(candidates == null)
+		{
+			return null;
+		}
+		
+		final String schema = tableInfo.getSchema();
+		for(final TableMetaData candidate : candidates)
+		{
+			final String candidateSchema = candidate.getTableInfo().getSchema();
+			if(schema == null || candidateSchema == null || schema.trim().equalsIgnoreCase(candidateSchema.trim()))
+			{
+				return candidate;
+			}
+		}
+		return null;
+	}
+	
+	private static TableMetaData empty(final TableInfo tableInfo)
+	{
+		return new InformixTableMetaData(tableInfo, InformixLazyTableMetaData.NO_COLUMNS,
+			InformixLazyTableMetaData.NO_INDICES, DBMetaData.UNKNOWN_ROW_COUNT, false);
+	}
+	
+	/**
+	 * Monitor of a deferred load, which cannot be canceled.
+	 */
+	private static final class DeferredLoadMonitor implements ProgressMonitor
+	{
+		@Override
+		public void beginTask(final String name, final int totalWork)
+		{
+		}
+		
+		@Override
+		public boolean isCanceled()
+		{
+			return false;
+		}
+		
+		@Override
+		public void worked(final int work)
+		{
+		}
+		
+		@Override
+		public void done()
+		{
+		}
+		
+		@Override
+		public void setTaskName(final String name)
+		{
+		}
+	}
+}
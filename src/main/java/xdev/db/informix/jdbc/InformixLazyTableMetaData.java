@@ -0,0 +1,111 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import xdev.db.ColumnMetaData;
+import xdev.db.DBMetaData;
+import xdev.db.DBMetaData.TableInfo;
+import xdev.db.DBMetaData.TableMetaData;
+import xdev.db.Index;
+
+
+/**
+ * A table skeleton whose columns, indices and row count are loaded on first access, together with its neighbours.
+ *
+ * @see InformixJDBCMetaData#getLazyTableMetaData(xdev.util.ProgressMonitor, int, TableInfo...)
+ */
+final class InformixLazyTableMetaData extends InformixTableMetaData
+{
+	static final ColumnMetaData[] NO_COLUMNS = new ColumnMetaData[0];
+	static final Index[] NO_INDICES = new Index[0];
+	
+	private final InformixLazyTableLoader loader;
+	private final int position;
+	private volatile TableMetaData delegate;
+	
+	InformixLazyTableMetaData(final TableInfo tableInfo, final InformixLazyTableLoader loader, final int position)
+	{
+		super(tableInfo, NO_COLUMNS, NO_INDICES, DBMetaData.UNKNOWN_ROW_COUNT, false);
+		this.loader = loader;
+		this.position = position;
+	}
+	
+	int getPosition()
+	{
+		return this.position;
+	}
+	
+	boolean isLoaded()
+	{
+		return this.delegate != null;
+	}
+	
+	TableMetaData getDelegate()
+	{
+		return this.delegate;
+	}
+	
+	void setDelegate(final TableMetaData delegate)
+	{
+		this.delegate = delegate;
+	}
+	
+	private TableMetaData resolve()
+	{
+		final TableMetaData delegate = this.delegate;
+		return delegate != null ? delegate : this.loader.load(this.position);
+	}
+	
+	@Override
+	public ColumnMetaData[] getColumns()
+	{
+		final TableMetaData delegate = this.resolve();
+		return delegate != null ? delegate.getColumns() : NO_COLUMNS;
+	}
+	
+	@Override
+	public Index[] getIndices()
+	{
+		final TableMetaData delegate = this.resolve();
+		return delegate != null ? delegate.getIndices() : NO_INDICES;
+	}
+	
+	@Override
+	public int getRowCount()
+	{
+		final TableMetaData delegate = this.resolve();
+		return delegate != null ? delegate.getRowCount() : DBMetaData.UNKNOWN_ROW_COUNT;
+	}
+	
+	@Override
+	public boolean isRowCountExact()
+	{
+		final TableMetaData delegate = this.resolve();
+		return delegate instanceof InformixTableMetaData && ((InformixTableMetaData)delegate).isRowCountExact();
+	}
+	
+	/**
+	 * Serializes the loaded table instead of the skeleton and its loader.
+	 */
+	private Object writeReplace()
+	{
+		final TableMetaData delegate = this.resolve();
+		return delegate != null ? delegate : new InformixTableMetaData(this.getTableInfo(), NO_COLUMNS, NO_INDICES,
+			DBMetaData.UNKNOWN_ROW_COUNT, false);
+	}
+}
@@ -0,0 +1,532 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import xdev.db.DBMetaData.TableMetaData;
+import xdev.db.StoredProcedure;
+
+
+/**
+ * Metadata cache of one {@link InformixJDBCDataSource}, disabled by default. Before it is used the cache is
+ * validated with one small query ({@link InformixCatalogFingerprint}), at most once per
+ * {@link #getValidationInterval() validation interval}. If the catalog changed, the versions of all tables are
+ * compared to the cached snapshot and only the changed tables are evicted. Results which span several tables
+ * (table lists, procedures, relationship models) are dropped on any change. Single procedures are kept by procid
+ * and reused as long as their <code>sysprocedures</code> signature is unchanged.
+ * <p>
+ * Row counts are never cached, they change with every DML statement without changing the catalog.
+ * <p>
+ * The table, procedure and result entries are bounded and evicted least recently used first.
+ *
+ * @see InformixJDBCDataSource#getMetaDataCache()
+ */
+public class InformixMetaDataCache
+{
+	public static final int DEFAULT_MAX_TABLES = 10000;
+	public static final int DEFAULT_MAX_RESULTS = 64;
+	public static final int DEFAULT_MAX_PROCEDURES = 10000;
+	public static final long DEFAULT_VALIDATION_INTERVAL_MILLIS = 1000;
+	
+	static final String PROCEDURES_KEY = "procedures"; //$NON-NLS-1$
+	
+	private static final String TABLE_VERSIONS_SQL = "SELECT T.tabid, T.tabname," //$NON-NLS-1$
+		+ " T.version + NVL(B.version, 0), T.created - MDY(12, 31, 1899)" //$NON-NLS-1$
+		+ " FROM informix.systables T" //$NON-NLS-1$
+		+ " LEFT JOIN informix.syssyntable S ON S.tabid = T.tabid" //$NON-NLS-1$
+		+ " LEFT JOIN informix.systables B ON B.tabid = S.btabid"; //$NON-NLS-1$
+	
+	private boolean enabled;
+	private long validationIntervalMillis = DEFAULT_VALIDATION_INTERVAL_MILLIS;
+	private int maxTables = DEFAULT_MAX_TABLES;
+	private int maxResults = DEFAULT_MAX_RESULTS;
+	private int maxProcedures = DEFAULT_MAX_PROCEDURES;
+	
+	private final Map<String, CachedTable> tables = new LinkedHashMap<String, CachedTable>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(final Entry<String, CachedTable> eldest)
+		{
+			return this.size() > InformixMetaDataCache.this.maxTables;
+		}
+	};
+	
+	private final Map<String, Object[]> results = new LinkedHashMap<String, Object[]>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(final Entry<String, Object[]> eldest)
+		{
+			return this.size() > InformixMetaDataCache.this.maxResults;
+		}
+	};
+	
+	private final Map<Integer, CachedProcedure> procedures = new LinkedHashMap<Integer, CachedProcedure>(16,
+		0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(final Entry<Integer, CachedProcedure> eldest)
+		{
+			return this.size() > InformixMetaDataCache.this.maxProcedures;
+		}
+	};
+	
+	private InformixCatalogFingerprint fingerprint;
+	private Map<Integer, TableVersion> tableVersions;
+	private boolean validated;
+	private long validatedAt;
+	private long validationSequence;
+	private long appliedValidation;
+	
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong refreshes = new AtomicLong();
+	
+	private Runnable changeListener;
+	
+	public synchronized boolean isEnabled()
+	{
+		return this.enabled;
+	}
+	
+	/**
+	 * Enables or disables the cache, disabling also drops all entries. Disabled by default.
+	 */
+	public synchronized void setEnabled(final boolean enabled)
+	{
+		this.enabled = enabled;
+		if(!enabled)
+		{
+			this.clear();
+		}
+	}
+	
+	public synchronized long getValidationInterval()
+	{
+		return this.validationIntervalMillis;
+	}
+	
+	/**
+	 * Sets the time in milliseconds a successful validation is trusted, catalog changes within it are not noticed
+	 * yet. <code>0</code> validates before every use.
+	 */
+	public synchronized void setValidationInterval(final long validationIntervalMillis)
+	{
+		this.validationIntervalMillis = validationIntervalMillis;
+	}
+	
+	public synchronized int getMaxTables()
+	{
+		return this.maxTables;
+	}
+	
+	public synchronized void setMaxTables(final int maxTables)
+	{
+		this.maxTables = maxTables;
+	}
+	
+	public synchronized int getMaxResults()
+	{
+		return this.maxResults;
+	}
+	
+	public synchronized void setMaxResults(final int maxResults)
+	{
+		this.maxResults = maxResults;
+	}
+	
+	public synchronized int getMaxProcedures()
+	{
+		return this.maxProcedures;
+	}
+	
+	public synchronized void setMaxProcedures(final int maxProcedures)
+	{
+		this.maxProcedures = maxProcedures;
+	}
+	
+	/**
+	 * @return the number of lookups served from the cache
+	 */
+	public long getHitCount()
+	{
+		return this.hits.get();
+	}
+	
+	/**
+	 * @return the number of lookups which had to be loaded from the database
+	 */
+	public long getMissCount()
+	{
+		return this.misses.get();
+	}
+	
+	/**
+	 * @return the number of detected catalog changes
+	 */
+	public long getRefreshCount()
+	{
+		return this.refreshes.get();
+	}
+	
+	/**
+	 * @return the number of cached tables
+	 */
+	public synchronized int getTableCount()
+	{
+		return this.tables.size();
+	}
+	
+	/**
+	 * Drops all entries and the catalog snapshot.
+	 */
+	public synchronized void clear()
+	{
+		this.tables.clear();
+		this.results.clear();
+		this.procedures.clear();
+		this.fingerprint = null;
+		this.tableVersions = null;
+		this.validated = false;
+	}
+	
+	/**
+	 * @return <code>true</code> if the cache was not validated within the validation interval
+	 */
+	synchronized boolean isValidationDue()
+	{
+		return !this.validated
+			|| System.nanoTime() - this.validatedAt >= TimeUnit.MILLISECONDS.toNanos(this.validationIntervalMillis);
+	}
+	
+	/**
+	 * Compares the catalog fingerprint with the one of the cached snapshot and evicts the changed tables. The
+	 * catalog is queried without holding the lock of the cache, so lookups of other threads are not blocked.
+	 */
+	void validate(final Connection connection) throws SQLException
+	{
+		final long sequence;
+		synchronized(this)
+		{
+			sequence = ++this.validationSequence;
+		}
+		
+		final InformixCatalogFingerprint current = InformixCatalogFingerprint.read(connection);
+		synchronized(this)
+		{
+			if(current.equals(this.fingerprint))
+			{
+				this.validated(sequence);
+				return;
+			}
+		}
+		
+		final Map<Integer, TableVersion> versions = readTableVersions(connection);
+		synchronized(this)
+		{
+			// a validation started later has already applied a newer state of the catalog
+			if(sequence < this.appliedValidation)
+			{
+				return;
+			}
+			
+			if(this.fingerprint != null)
+			{
+				this.refreshes.incrementAndGet();
+				this.results.clear();
+				this.evict(changedTableNames(this.tableVersions, versions));
+			}
+			
+			this.fingerprint = current;
+			this.tableVersions = versions;
+			this.validated(sequence);
+			this.changed();
+		}
+	}
+	
+	private void validated(final long sequence)
+	{
+		this.appliedValidation = Math.max(this.appliedValidation, sequence);
+		this.validated = true;
+		this.validatedAt = System.nanoTime();
+	}
+	
+	private void evict(final Set<String> changedTableNames)
+	{
+		final Iterator<CachedTable> iterator = this.tables.values().iterator();
+		while(iterator.hasNext())
+		{
+			if(changedTableNames.contains(iterator.next().name))
+			{
+				iterator.remove();
+			}
+		}
+	}
+	
+	/**
+	 * @return the lower case names of the tables which were dropped or altered between both snapshots
+	 */
+	static Set<String> changedTableNames(
+		final Map<Integer, TableVersion> oldVersions,
+		final Map<Integer, TableVersion> newVersions)
+	{
+		final Set<String> changed = new HashSet<>();
+		for(final Entry<Integer, TableVersion> entry : oldVersions.entrySet())
+		{
+			final TableVersion oldVersion = entry.getValue();
+			final TableVersion newVersion = newVersions.get(entry.getKey());
+			if(newVersion == null || !newVersion.equals(oldVersion))
+			{
+				changed.add(oldVersion.name);
+			}
+		}
+		return changed;
+	}
+	
+	static Map<Integer, TableVersion> readTableVersions(final Connection connection) throws SQLException
+	{
+		final Map<Integer, TableVersion> versions = new HashMap<>();
+		try(final Statement statement = connection.createStatement();
+			final ResultSet rs = statement.executeQuery(TABLE_VERSIONS_SQL))
+		{
+			while(rs.next())
+			{
+				versions.put(rs.getInt(1), new TableVersion(nameKey(rs.getString(2)), rs.getInt(3), rs.getInt(4)));
+			}
+		}
+		return versions;
+	}
+	
+	static String nameKey(final String tableName)
+	{
+		return tableName.trim().toLowerCase(Locale.ROOT);
+	}
+	
+	static String tableKey(final int flags, final String tableName)
+	{
+		return flags + ":" + nameKey(tableName); //$NON-NLS-1$
+	}
+	
+	synchronized TableMetaData getTable(final String key)
+	{
+		final CachedTable table = this.tables.get(key);
+		if(table == null)
+		{
+			this.misses.incrementAndGet();
+			return null;
+		}
+		this.hits.incrementAndGet();
+		// a read-only view, see putTable
+		return table.metaData;
+	}
+	
+	synchronized void putTable(final String key, final TableMetaData metaData)
+	{
+		if(this.maxTables > 0)
+		{
+			this.tables.put(key, new CachedTable(nameKey(metaData.getTableInfo().getName()),
+				InformixTableMetaData.copyOf(metaData, metaData.getTableInfo())));
+			this.changed();
+		}
+	}
+	
+	/**
+	 * @return a copy of the cached array of immutable elements, <code>null</code> if none is cached
+	 */
+	synchronized Object[] getResult(final String key)
+	{
+		final Object[] result = this.results.get(key);
+		if(result == null)
+		{
+			this.misses.incrementAndGet();
+			return null;
+		}
+		this.hits.incrementAndGet();
+		return result.clone();
+	}
+	
+	/**
+	 * Caches a copy of <b>result</b>, an array of immutable elements.
+	 */
+	synchronized void putResult(final String key, final Object[] result)
+	{
+		if(this.maxResults > 0)
+		{
+			this.results.put(key, result.clone());
+			this.changed();
+		}
+	}
+	
+	/**
+	 * @param version
+	 *            a signature of the <code>sysprocedures</code> row, a cached procedure with another signature is
+	 *            treated as missing
+	 */
+	synchronized StoredProcedure getProcedure(final int procid, final String version)
+	{
+		final CachedProcedure procedure = this.procedures.get(procid);
+		if(procedure == null || !procedure.version.equals(version))
+		{
+			this.misses.incrementAndGet();
+			return null;
+		}
+		this.hits.incrementAndGet();
+		return procedure.procedure;
+	}
+	
+	synchronized void putProcedure(final int procid, final String version, final StoredProcedure procedure)
+	{
+		if(this.maxProcedures > 0)
+		{
+			this.procedures.put(procid, new CachedProcedure(version, procedure));
+		}
+	}
+	
+	/**
+	 * @param changeListener called whenever entries were added or evicted, while the cache is locked
+	 */
+	synchronized void setChangeListener(final Runnable changeListener)
+	{
+		this.changeListener = changeListener;
+	}
+	
+	private void changed()
+	{
+		if(this.changeListener != null)
+		{
+			this.changeListener.run();
+		}
+	}
+	
+	/**
+	 * @return the tables, procedures and catalog versions of this cache, or <code>null</code> if it was never
+	 * validated
+	 */
+	synchronized InformixMetaDataSnapshot toSnapshot()
+	{
+		if(this.fingerprint == null)
+		{
+			return null;
+		}
+		
+		final Map<String, TableMetaData> snapshotTables = new LinkedHashMap<>();
+		for(final Entry<String, CachedTable> entry : this.tables.entrySet())
+		{
+			snapshotTables.put(entry.getKey(), entry.getValue().metaData);
+		}
+		return new InformixMetaDataSnapshot(this.fingerprint, new HashMap<>(this.tableVersions), snapshotTables,
+			(StoredProcedure[])this.results.get(PROCEDURES_KEY));
+	}
+	
+	/**
+	 * Fills the cache from a snapshot, unless it was already validated against the database. The entries are
+	 * treated like loaded ones: the next {@link #validate(Connection)} evicts those which changed since.
+	 */
+	synchronized void restore(final InformixMetaDataSnapshot snapshot)
+	{
+		if(this.fingerprint != null)
+		{
+			return;
+		}
+		
+		this.fingerprint = snapshot.fingerprint;
+		this.tableVersions = snapshot.tableVersions;
+		for(final Entry<String, TableMetaData> entry : snapshot.tables.entrySet())
+		{
+			this.tables.put(entry.getKey(),
+				new CachedTable(nameKey(entry.getValue().getTableInfo().getName()), entry.getValue()));
+		}
+		if(snapshot.procedures != null)
+		{
+			this.results.put(PROCEDURES_KEY, snapshot.procedures);
+		}
+	}
+	
+	private static final class CachedTable
+	{
+		final String name;
+		final TableMetaData metaData;
+		
+		CachedTable(final String name, final TableMetaData metaData)
+		{
+			this.name = name;
+			this.metaData = metaData;
+		}
+	}
+	
+	private static final class CachedProcedure
+	{
+		final String version;
+		final StoredProcedure procedure;
+		
+		CachedProcedure(final String version, final StoredProcedure procedure)
+		{
+			this.version = version;
+			this.procedure = procedure;
+		}
+	}
+	
+	/**
+	 * The version of one <code>systables</code> row. For synonyms the version of the base table is included.
+	 */
+	static final class TableVersion
+	{
+		final String name;
+		final int version;
+		final int created;
+		
+		TableVersion(final String name, final int version, final int created)
+		{
+			this.name = name;
+			this.version = version;
+			this.created = created;
+		}
+		
+		@Override
+		public boolean equals(final Object obj)
+		{
+			if(!(obj instanceof TableVersion))
+			{
+				return false;
+			}
+			final TableVersion other = (TableVersion)obj;
+			return this.version == other.version
+				&& this.created == other.created
+				&& this.name.equals(other.name);
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return (this.name.hashCode() * 31 + this.version) * 31 + this.created;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+
+/**
+ * Is notified after each table metadata request of an {@link InformixJDBCDataSource}.
+ *
+ * @see InformixJDBCDataSource#addMetaDataListener(InformixMetaDataListener)
+ */
+@FunctionalInterface
+public interface InformixMetaDataListener
+{
+	/**
+	 * Called on the requesting thread once the request completed, also if it failed.
+	 */
+	public void metaDataLoaded(InformixMetaDataStatistics statistics);
+}
@@ -0,0 +1,56 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+
+/**
+ * The phases of loading table metadata from the catalog, as recorded in {@link InformixMetaDataStatistics}.
+ */
+public enum InformixMetaDataPhase
+{
+	/**
+	 * Reading <code>syssyntable</code>.
+	 */
+	SYNONYMS,
+	
+	/**
+	 * Resolving the requested tables and executing the <code>systables</code>/<code>syscolumns</code> query.
+	 */
+	TABLES,
+	
+	/**
+	 * Fetching and decoding the rows of the table query, the bulk of the network traffic of the table query is
+	 * accounted here.
+	 */
+	PARSE,
+	
+	/**
+	 * Reading <code>sysindexes</code> and resolving the index columns.
+	 */
+	INDICES,
+	
+	/**
+	 * Determining the row counts with the configured {@link InformixRowCountStrategy}.
+	 */
+	ROW_COUNTS,
+	
+	/**
+	 * Assembling the {@link xdev.db.DBMetaData.TableMetaData} objects.
+	 */
+	CONVERT
+}
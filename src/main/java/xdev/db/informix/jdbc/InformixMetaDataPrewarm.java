@@ -0,0 +1,210 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import xdev.db.DBException;
+import xdev.db.DBMetaData;
+import xdev.db.DBMetaData.TableInfo;
+import xdev.db.DBMetaData.TableType;
+import xdev.util.ProgressMonitor;
+import xdev.util.logging.LoggerFactory;
+import xdev.util.logging.XdevLogger;
+
+
+/**
+ * Fills the metadata cache of a data source in the background: first the table infos, then the table metadata
+ * with one scan of the catalog, then the stored procedures. Requests arriving meanwhile wait for the phase they
+ * need instead of loading the same data a second time, provided the phase loads what they ask for (see
+ * {@link #covers(EnumSet)} and {@link #covers(int, TableInfo[])}). The task is its own {@link ProgressMonitor},
+ * so cancelling it also cancels the running catalog query.
+ *
+ * @see InformixJDBCDataSource#startMetaDataPrewarm()
+ */
+final class InformixMetaDataPrewarm implements ProgressMonitor, Runnable
+{
+	enum Phase
+	{
+		TABLE_INFOS,
+		TABLES,
+		PROCEDURES
+	}
+	
+	private static final XdevLogger LOGGER = LoggerFactory.getLogger(InformixMetaDataPrewarm.class);
+	
+	private static final EnumSet<TableType> TYPES = EnumSet.of(TableType.TABLE, TableType.VIEW);
+	private static final int FLAGS = DBMetaData.INDICES;
+	/**
+	 * Interval in which waiting requests check their own monitor for cancellation.
+	 */
+	private static final long AWAIT_POLL_MILLIS = 100;
+	
+	private final InformixJDBCDataSource dataSource;
+	private final CountDownLatch[] phases = new CountDownLatch[Phase.values().length];
+	private volatile Thread thread;
+	private volatile boolean canceled;
+	
+	InformixMetaDataPrewarm(final InformixJDBCDataSource dataSource)
+	{
+		this.dataSource = dataSource;
+		for(int i = 0; i < this.phases.length; i++)
+		{
+			this.phases[i] = new CountDownLatch(1);
+		}
+	}
+	
+	@Override
+	public void run()
+	{
+		this.thread = Thread.currentThread();
+		try
+		{
+			final InformixJDBCMetaData metaData = this.dataSource.getMetaData();
+			metaData.getTableInfos(this, TYPES);
+			this.finish(Phase.TABLE_INFOS);
+			
+			// the cache was validated by the table infos, the streamed tables go to it directly
+			final InformixMetaDataCache cache = this.dataSource.getMetaDataCache();
+			if(!this.canceled && cache.isEnabled())
+			{
+				// the system tables are skipped like by the table infos, they would only fill the cache
+				metaData.getTableMetaData(this, TYPES, FLAGS, true, table -> cache.putTable(
+					InformixMetaDataCache.tableKey(FLAGS, table.getTableInfo().getName()), table));
+			}
+			this.finish(Phase.TABLES);
+			
+			if(!this.canceled)
+			{
+				metaData.getStoredProcedures(this);
+			}
+		}
+		catch(final DBException | RuntimeException e)
+		{
+			LOGGER.error("Metadata pre-warm failed", e); //$NON-NLS-1$
+		}
+		finally
+		{
+			for(final Phase phase : Phase.values())
+			{
+				this.finish(phase);
+			}
+		}
+	}
+	
+	/**
+	 * @return <code>true</code> if the table infos of <b>types</b> are loaded by {@link Phase#TABLE_INFOS}
+	 */
+	static boolean covers(final EnumSet<TableType> types)
+	{
+		return TYPES.equals(types);
+	}
+	
+	/**
+	 * @return <code>true</code> if the metadata of all <b>tables</b> with <b>flags</b> is loaded by
+	 *         {@link Phase#TABLES}
+	 */
+	static boolean covers(final int flags, final TableInfo[] tables)
+	{
+		if(flags != FLAGS)
+		{
+			return false;
+		}
+		for(final TableInfo table : tables)
+		{
+			if(!TYPES.contains(table.getType()))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private void finish(final Phase phase)
+	{
+		this.phases[phase.ordinal()].countDown();
+	}
+	
+	/**
+	 * Blocks until <b>phase</b> is finished, the task is cancelled or <b>monitor</b> is cancelled. Returns
+	 * immediately when called by the task itself.
+	 */
+	void await(final Phase phase, final ProgressMonitor monitor)
+	{
+		if(Thread.currentThread() == this.thread)
+		{
+			return;
+		}
+		
+		final CountDownLatch latch = this.phases[phase.ordinal()];
+		try
+		{
+			while(!latch.await(AWAIT_POLL_MILLIS, TimeUnit.MILLISECONDS))
+			{
+				if(monitor.isCanceled())
+				{
+					return;
+				}
+			}
+		}
+		catch(final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Cancels the task, waiting requests are released at once and load on their own.
+	 */
+	void cancel()
+	{
+		this.canceled = true;
+		for(final Phase phase : Phase.values())
+		{
+			this.finish(phase);
+		}
+	}
+	
+	@Override
+	public boolean isCanceled()
+	{
+		return this.canceled;
+	}
+	
+	@Override
+	public void beginTask(final String name, final int totalWork)
+	{
+	}
+	
+	@Override
+	public void setTaskName(final String name)
+	{
+	}
+	
+	@Override
+	public void worked(final int work)
+	{
+	}
+	
+	@Override
+	public void done()
+	{
+	}
+}
@@ -0,0 +1,566 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import xdev.db.ColumnMetaData;
+import xdev.db.DBMetaData.TableInfo;
+import xdev.db.DBMetaData.TableMetaData;
+import xdev.db.DBMetaData.TableType;
+import xdev.db.DataType;
+import xdev.db.Index;
+import xdev.db.Index.IndexType;
+import xdev.db.StoredProcedure;
+import xdev.db.StoredProcedure.Param;
+import xdev.db.StoredProcedure.ParamType;
+import xdev.db.StoredProcedure.ReturnTypeFlavor;
+
+
+/**
+ * Binary snapshot of an {@link InformixMetaDataCache}, so a restarted application does not have to crawl the
+ * catalog again. All strings are stored once in a string table at the start of the file and referenced by
+ * number. Column default values keep their type.
+ * <p>
+ * The snapshot carries the {@link InformixCatalogFingerprint} and table versions it was taken with, so the
+ * restored cache is validated against the catalog like any other.
+ */
+final class InformixMetaDataSnapshot
+{
+	private static final int MAGIC = 0x49464d44; // IFMD
+	private static final int FORMAT_VERSION = 2;
+	private static final int NULL_REF = -1;
+	
+	/**
+	 * Types of column default values, the value itself is stored as a string which the type can parse.
+	 */
+	private static final byte DEFAULT_NULL = 0;
+	private static final byte DEFAULT_STRING = 1;
+	private static final byte DEFAULT_INTEGER = 2;
+	private static final byte DEFAULT_LONG = 3;
+	private static final byte DEFAULT_SHORT = 4;
+	private static final byte DEFAULT_BYTE = 5;
+	private static final byte DEFAULT_DOUBLE = 6;
+	private static final byte DEFAULT_FLOAT = 7;
+	private static final byte DEFAULT_BIG_DECIMAL = 8;
+	private static final byte DEFAULT_BIG_INTEGER = 9;
+	private static final byte DEFAULT_BOOLEAN = 10;
+	private static final byte DEFAULT_TIMESTAMP = 11;
+	private static final byte DEFAULT_SQL_DATE = 12;
+	private static final byte DEFAULT_TIME = 13;
+	private static final byte DEFAULT_DATE = 14;
+	
+	final InformixCatalogFingerprint fingerprint;
+	final Map<Integer, InformixMetaDataCache.TableVersion> tableVersions;
+	final Map<String, TableMetaData> tables;
+	final StoredProcedure[] procedures;
+	
+	InformixMetaDataSnapshot(
+		final InformixCatalogFingerprint fingerprint,
+		final Map<Integer, InformixMetaDataCache.TableVersion> tableVersions,
+		final Map<String, TableMetaData> tables, final StoredProcedure[] procedures)
+	{
+		this.fingerprint = fingerprint;
+		this.tableVersions = tableVersions;
+		this.tables = tables;
+		this.procedures = procedures;
+	}
+	
+	/**
+	 * @return the snapshot file of a database within <b>directory</b>
+	 */
+	static File getFile(final File directory, final String host, final String server, final String database)
+	{
+		final String name = (host + "_" + server + "_" + database).replaceAll("[^A-Za-z0-9._-]", "_"); //$NON-NLS-1$
+		return new File(directory, name + ".ifxmeta"); //$NON-NLS-1$
+	}
+	
+	// /////////////////////////////////////////////////////////////////////////
+	// writing //
+	// ///////////////////
+	
+	/**
+	 * Writes the snapshot to a temporary file first and replaces <b>file</b> afterwards, so readers never see a
+	 * partially written snapshot.
+	 */
+	void write(final File file) throws IOException
+	{
+		final StringTable strings = new StringTable();
+		this.collectStrings(strings);
+		
+		final File directory = file.getAbsoluteFile().getParentFile();
+		if(!directory.isDirectory() && !directory.mkdirs())
+		{
+			throw new IOException("Cannot create " + directory); //$NON-NLS-1$
+		}
+		
+		final File temp = new File(directory, file.getName() + ".tmp"); //$NON-NLS-1$
+		try(final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			for(final long value : this.fingerprint.toArray())
+			{
+				out.writeLong(value);
+			}
+			
+			out.writeInt(strings.list.size());
+			for(final String string : strings.list)
+			{
+				final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+			
+			out.writeInt(this.tableVersions.size());
+			for(final Entry<Integer, InformixMetaDataCache.TableVersion> entry : this.tableVersions.entrySet())
+			{
+				final InformixMetaDataCache.TableVersion version = entry.getValue();
+				out.writeInt(entry.getKey());
+				out.writeInt(strings.ref(version.name));
+				out.writeInt(version.version);
+				out.writeInt(version.created);
+			}
+			
+			out.writeInt(this.tables.size());
+			for(final Entry<String, TableMetaData> entry : this.tables.entrySet())
+			{
+				out.writeInt(strings.ref(entry.getKey()));
+				writeTable(out, strings, entry.getValue());
+			}
+			
+			if(this.procedures == null)
+			{
+				out.writeInt(NULL_REF);
+			}
+			else
+			{
+				out.writeInt(this.procedures.length);
+				for(final StoredProcedure procedure : this.procedures)
+				{
+					writeProcedure(out, strings, procedure);
+				}
+			}
+		}
+		
+		final Path source = temp.toPath();
+		final Path target = file.toPath();
+		try
+		{
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(final AtomicMoveNotSupportedException e)
+		{
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	private void collectStrings(final StringTable strings)
+	{
+		for(final InformixMetaDataCache.TableVersion version : this.tableVersions.values())
+		{
+			strings.add(version.name);
+		}
+		for(final Entry<String, TableMetaData> entry : this.tables.entrySet())
+		{
+			strings.add(entry.getKey());
+			final TableMetaData table = entry.getValue();
+			strings.add(table.getTableInfo().getSchema());
+			strings.add(table.getTableInfo().getName());
+			for(final ColumnMetaData column : table.getColumns())
+			{
+				strings.add(column.getName());
+				strings.add(column.getCaption());
+				strings.add(column.getType().name());
+				strings.add(defaultValueString(column.getDefaultValue()));
+			}
+			for(final Index index : table.getIndices())
+			{
+				strings.add(index.getName());
+				for(final String column : index.getColumns())
+				{
+					strings.add(column);
+				}
+			}
+		}
+		if(this.procedures != null)
+		{
+			for(final StoredProcedure procedure : this.procedures)
+			{
+				strings.add(procedure.getName());
+				strings.add(procedure.getDescription());
+				if(procedure.getReturnType() != null)
+				{
+					strings.add(procedure.getReturnType().name());
+				}
+				for(final Param param : procedure.getParams())
+				{
+					strings.add(param.getName());
+					strings.add(param.getDataType().name());
+				}
+			}
+		}
+	}
+	
+	private static byte defaultValueType(final Object value)
+	{
+		if(value == null)
+		{
+			return DEFAULT_NULL;
+		}
+		if(value instanceof Integer)
+		{
+			return DEFAULT_INTEGER;
+		}
+		if(value instanceof Long)
+		{
+			return DEFAULT_LONG;
+		}
+		if(value instanceof Short)
+		{
+			return DEFAULT_SHORT;
+		}
+		if(value instanceof Byte)
+		{
+			return DEFAULT_BYTE;
+		}
+		if(value instanceof Double)
+		{
+			return DEFAULT_DOUBLE;
+		}
+		if(value instanceof Float)
+		{
+			return DEFAULT_FLOAT;
+		}
+		if(value instanceof BigDecimal)
+		{
+			return DEFAULT_BIG_DECIMAL;
+		}
+		if(value instanceof BigInteger)
+		{
+			return DEFAULT_BIG_INTEGER;
+		}
+		if(value instanceof Boolean)
+		{
+			return DEFAULT_BOOLEAN;
+		}
+		// the java.sql types before their super class
+		if(value instanceof Timestamp)
+		{
+			return DEFAULT_TIMESTAMP;
+		}
+		if(value instanceof java.sql.Date)
+		{
+			return DEFAULT_SQL_DATE;
+		}
+		if(value instanceof Time)
+		{
+			return DEFAULT_TIME;
+		}
+		if(value instanceof java.util.Date)
+		{
+			return DEFAULT_DATE;
+		}
+		// anything else is kept as its string form
+		return DEFAULT_STRING;
+	}
+	
+	private static String defaultValueString(final Object value)
+	{
+		if(value == null)
+		{
+			return null;
+		}
+		if(defaultValueType(value) == DEFAULT_DATE)
+		{
+			return String.valueOf(((java.util.Date)value).getTime());
+		}
+		return value.toString();
+	}
+	
+	private static Object readDefaultValue(final byte type, final String value)
+	{
+		switch(type)
+		{
+			case DEFAULT_NULL:
+				return null;
+			case DEFAULT_INTEGER:
+				return Integer.valueOf(value);
+			case DEFAULT_LONG:
+				return Long.valueOf(value);
+			case DEFAULT_SHORT:
+				return Short.valueOf(value);
+			case DEFAULT_BYTE:
+				return Byte.valueOf(value);
+			case DEFAULT_DOUBLE:
+				return Double.valueOf(value);
+			case DEFAULT_FLOAT:
+				return Float.valueOf(value);
+			case DEFAULT_BIG_DECIMAL:
+				return new BigDecimal(value);
+			case DEFAULT_BIG_INTEGER:
+				return new BigInteger(value);
+			case DEFAULT_BOOLEAN:
+				return Boolean.valueOf(value);
+			case DEFAULT_TIMESTAMP:
+				return Timestamp.valueOf(value);
+			case DEFAULT_SQL_DATE:
+				return java.sql.Date.valueOf(value);
+			case DEFAULT_TIME:
+				return Time.valueOf(value);
+			case DEFAULT_DATE:
+				return new java.util.Date(Long.parseLong(value));
+			default:
+				return value;
+		}
+	}
+	
+	private static void writeTable(final DataOutputStream out, final StringTable strings, final TableMetaData table)
+		throws IOException
+	{
+		final TableInfo info = table.getTableInfo();
+		out.writeByte(info.getType().ordinal());
+		out.writeInt(strings.ref(info.getSchema()));
+		out.writeInt(strings.ref(info.getName()));
+		out.writeInt(table.getRowCount());
+		out.writeBoolean(table instanceof InformixTableMetaData && ((InformixTableMetaData)table).isRowCountExact());
+		
+		final ColumnMetaData[] columns = table.getColumns();
+		out.writeInt(columns.length);
+		for(final ColumnMetaData column : columns)
+		{
+			out.writeInt(strings.ref(column.getName()));
+			out.writeInt(strings.ref(column.getCaption()));
+			out.writeInt(strings.ref(column.getType().name()));
+			out.writeInt(column.getLength());
+			out.writeInt(column.getScale());
+			final Object defaultValue = column.getDefaultValue();
+			out.writeByte(defaultValueType(defaultValue));
+			out.writeInt(strings.ref(defaultValueString(defaultValue)));
+			out.writeBoolean(column.isNullable());
+			out.writeBoolean(column.isAutoIncrement());
+		}
+		
+		final Index[] indices = table.getIndices();
+		out.writeInt(indices.length);
+		for(final Index index : indices)
+		{
+			out.writeInt(strings.ref(index.getName()));
+			out.writeByte(index.getType().ordinal());
+			final String[] indexColumns = index.getColumns();
+			out.writeInt(indexColumns.length);
+			for(final String column : indexColumns)
+			{
+				out.writeInt(strings.ref(column));
+			}
+		}
+	}
+	
+	private static void writeProcedure(
+		final DataOutputStream out, final StringTable strings,
+		final StoredProcedure procedure) throws IOException
+	{
+		out.writeByte(procedure.getReturnTypeFlavor().ordinal());
+		out.writeInt(procedure.getReturnType() != null ? strings.ref(procedure.getReturnType().name()) : NULL_REF);
+		out.writeInt(strings.ref(procedure.getName()));
+		out.writeInt(strings.ref(procedure.getDescription()));
+		
+		final Param[] params = procedure.getParams();
+		out.writeInt(params.length);
+		for(final Param param : params)
+		{
+			out.writeByte(param.getParamType().ordinal());
+			out.writeInt(strings.ref(param.getName()));
+			out.writeInt(strings.ref(param.getDataType().name()));
+		}
+	}
+	
+	// /////////////////////////////////////////////////////////////////////////
+	// reading //
+	// ///////////////////
+	
+	/**
+	 * @return the snapshot, or <code>null</code> if <b>file</b> does not exist or has another format version
+	 */
+	static InformixMetaDataSnapshot read(final File file) throws IOException
+	{
+		if(!file.isFile())
+		{
+			return null;
+		}
+		
+		// read onto the heap, a mapping would keep the file open until the buffer is collected
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+		if(buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION)
+		{
+			return null;
+		}
+		
+		final long[] fingerprint = new long[6];
+		for(int i = 0; i < fingerprint.length; i++)
+		{
+			fingerprint[i] = buffer.getLong();
+		}
+		
+		final String[] strings = new String[buffer.getInt()];
+		for(int i = 0; i < strings.length; i++)
+		{
+			final byte[] bytes = new byte[buffer.getInt()];
+			buffer.get(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		
+		final int versionCount = buffer.getInt();
+		final Map<Integer, InformixMetaDataCache.TableVersion> tableVersions = new HashMap<>(versionCount * 2);
+		for(int i = 0; i < versionCount; i++)
+		{
+			final int tabid = buffer.getInt();
+			tableVersions.put(tabid, new InformixMetaDataCache.TableVersion(strings[buffer.getInt()],
+				buffer.getInt(), buffer.getInt()));
+		}
+		
+		final int tableCount = buffer.getInt();
+		final Map<String, TableMetaData> tables = new LinkedHashMap<>(tableCount * 2);
+		for(int i = 0; i < tableCount; i++)
+		{
+			final String key = strings[buffer.getInt()];
+			tables.put(key, readTable(buffer, strings));
+		}
+		
+		final int procedureCount = buffer.getInt();
+		StoredProcedure[] procedures = null;
+		if(procedureCount != NULL_REF)
+		{
+			procedures = new StoredProcedure[procedureCount];
+			for(int i = 0; i < procedureCount; i++)
+			{
+				procedures[i] = readProcedure(buffer, strings);
+			}
+		}
+		
+		return new InformixMetaDataSnapshot(InformixCatalogFingerprint.fromArray(fingerprint), tableVersions,
+			tables, procedures);
+	}
+	
+	private static String string(final String[] strings, final int ref)
+	{
+		return ref == NULL_REF ? null : strings[ref];
+	}
+	
+	private static TableMetaData readTable(final ByteBuffer buffer, final String[] strings)
+	{
+		final TableType type = TableType.values()[buffer.get()];
+		final String schema = string(strings, buffer.getInt());
+		final String name = strings[buffer.getInt()];
+		final int rowCount = buffer.getInt();
+		final boolean exact = buffer.get() != 0;
+		
+		final ColumnMetaData[] columns = new ColumnMetaData[buffer.getInt()];
+		for(int i = 0; i < columns.length; i++)
+		{
+			final String columnName = string(strings, buffer.getInt());
+			final String caption = string(strings, buffer.getInt());
+			final DataType dataType = DataType.valueOf(strings[buffer.getInt()]);
+			final int length = buffer.getInt();
+			final int scale = buffer.getInt();
+			final byte defaultType = buffer.get();
+			final Object defaultValue = readDefaultValue(defaultType, string(strings, buffer.getInt()));
+			final boolean nullable = buffer.get() != 0;
+			final boolean autoIncrement = buffer.get() != 0;
+			columns[i] = new ColumnMetaData(name, columnName, caption, dataType, length, scale, defaultValue,
+				nullable, autoIncrement);
+		}
+		
+		final Index[] indices = new Index[buffer.getInt()];
+		for(int i = 0; i < indices.length; i++)
+		{
+			final String indexName = strings[buffer.getInt()];
+			final IndexType indexType = IndexType.values()[buffer.get()];
+			final String[] indexColumns = new String[buffer.getInt()];
+			for(int c = 0; c < indexColumns.length; c++)
+			{
+				indexColumns[c] = strings[buffer.getInt()];
+			}
+			indices[i] = new Index(indexName, indexType, indexColumns);
+		}
+		
+		return new InformixTableMetaData(new TableInfo(type, schema, name), columns, indices, rowCount, exact);
+	}
+	
+	private static StoredProcedure readProcedure(final ByteBuffer buffer, final String[] strings)
+	{
+		final ReturnTypeFlavor flavor = ReturnTypeFlavor.values()[buffer.get()];
+		final int returnTypeRef = buffer.getInt();
+		final DataType returnType = returnTypeRef == NULL_REF ? null : DataType.valueOf(strings[returnTypeRef]);
+		final String name = string(strings, buffer.getInt());
+		final String description = string(strings, buffer.getInt());
+		
+		final Param[] params = new Param[buffer.getInt()];
+		for(int i = 0; i < params.length; i++)
+		{
+			final ParamType paramType = ParamType.values()[buffer.get()];
+			final String paramName = string(strings, buffer.getInt());
+			params[i] = new Param(paramType, paramName, DataType.valueOf(strings[buffer.getInt()]));
+		}
+		
+		return new StoredProcedure(flavor, returnType, name, description, params);
+	}
+	
+	/**
+	 * Assigns every distinct string a number in order of appearance.
+	 */
+	private static final class StringTable
+	{
+		final Map<String, Integer> refs = new HashMap<>();
+		final List<String> list = new ArrayList<>();
+		
+		void add(final String string)
+		{
+			if(string != null && !this.refs.containsKey(string))
+			{
+				this.refs.put(string, this.list.size());
+				this.list.add(string);
+			}
+		}
+		
+		int ref(final String string)
+		{
+			return string == null ? NULL_REF : this.refs.get(string);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Wall time, catalog rows read, objects created and round trips of one table metadata request, per
+ * {@link InformixMetaDataPhase}.
+ */
+public final class InformixMetaDataStatistics
+{
+	private static final InformixMetaDataPhase[] PHASES = InformixMetaDataPhase.values();
+	
+	private final String operation;
+	private final long[] wallTimes = new long[PHASES.length];
+	private final long[] rows = new long[PHASES.length];
+	private final long[] objects = new long[PHASES.length];
+	private final long[] roundTrips = new long[PHASES.length];
+	private boolean failed;
+	
+	InformixMetaDataStatistics(final String operation)
+	{
+		this.operation = operation;
+	}
+	
+	/**
+	 * @return the kind of request: <code>"catalog"</code>, <code>"tables"</code> or <code>"stream"</code>
+	 */
+	public String getOperation()
+	{
+		return this.operation;
+	}
+	
+	/**
+	 * @return <code>true</code> if the request ended with an exception
+	 */
+	public boolean isFailed()
+	{
+		return this.failed;
+	}
+	
+	public long getWallTimeNanos(final InformixMetaDataPhase phase)
+	{
+		return this.wallTimes[phase.ordinal()];
+	}
+	
+	public long getRows(final InformixMetaDataPhase phase)
+	{
+		return this.rows[phase.ordinal()];
+	}
+	
+	public long getObjects(final InformixMetaDataPhase phase)
+	{
+		return this.objects[phase.ordinal()];
+	}
+	
+	public long getRoundTrips(final InformixMetaDataPhase phase)
+	{
+		return this.roundTrips[phase.ordinal()];
+	}
+	
+	public long getTotalWallTimeNanos()
+	{
+		return sum(this.wallTimes);
+	}
+	
+	public long getTotalRoundTrips()
+	{
+		return sum(this.roundTrips);
+	}
+	
+	private static long sum(final long[] values)
+	{
+		long sum = 0;
+		for(final long value : values)
+		{
+			sum += value;
+		}
+		return sum;
+	}
+	
+	void addWallTime(final InformixMetaDataPhase phase, final long startNanos)
+	{
+		this.wallTimes[phase.ordinal()] += System.nanoTime() - startNanos;
+	}
+	
+	void addRows(final InformixMetaDataPhase phase, final long count)
+	{
+		this.rows[phase.ordinal()] += count;
+	}
+	
+	void addObjects(final InformixMetaDataPhase phase, final long count)
+	{
+		this.objects[phase.ordinal()] += count;
+	}
+	
+	void addRoundTrip(final InformixMetaDataPhase phase)
+	{
+		this.roundTrips[phase.ordinal()]++;
+	}
+	
+	void setFailed()
+	{
+		this.failed = true;
+	}
+	
+	/**
+	 * @return one line of <code>key=value</code> pairs, wall times in milliseconds
+	 */
+	@Override
+	public String toString()
+	{
+		final StringBuilder sb = new StringBuilder(64 + PHASES.length * 64);
+		sb.append("informix.metadata op=").append(this.operation) //$NON-NLS-1$
+			.append(" failed=").append(this.failed) //$NON-NLS-1$
+			.append(" ms=").append(TimeUnit.NANOSECONDS.toMillis(this.getTotalWallTimeNanos())) //$NON-NLS-1$
+			.append(" trips=").append(this.getTotalRoundTrips()); //$NON-NLS-1$
+		for(final InformixMetaDataPhase phase : PHASES)
+		{
+			final String prefix = phase.name().toLowerCase(Locale.ROOT);
+			final int i = phase.ordinal();
+			sb.append(' ').append(prefix).append(".ms=") //$NON-NLS-1$
+				.append(TimeUnit.NANOSECONDS.toMillis(this.wallTimes[i]))
+				.append(' ').append(prefix).append(".rows=").append(this.rows[i]) //$NON-NLS-1$
+				.append(' ').append(prefix).append(".objects=").append(this.objects[i]) //$NON-NLS-1$
+				.append(' ').append(prefix).append(".trips=").append(this.roundTrips[i]); //$NON-NLS-1$
+		}
+		return sb.toString();
+	}
+}
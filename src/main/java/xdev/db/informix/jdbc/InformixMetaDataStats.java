@@ -0,0 +1,144 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Accumulates the {@link InformixMetaDataStatistics} of all requests of one data source.
+ */
+public class InformixMetaDataStats implements InformixMetaDataStatsMXBean, InformixMetaDataListener
+{
+	private static final InformixMetaDataPhase[] PHASES = InformixMetaDataPhase.values();
+	
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong failedRequests = new AtomicLong();
+	private final AtomicLongArray wallTimes = new AtomicLongArray(PHASES.length);
+	private final AtomicLongArray rows = new AtomicLongArray(PHASES.length);
+	private final AtomicLongArray objects = new AtomicLongArray(PHASES.length);
+	private final AtomicLongArray roundTrips = new AtomicLongArray(PHASES.length);
+	private volatile InformixMetaDataStatistics lastRequest;
+	
+	@Override
+	public void metaDataLoaded(final InformixMetaDataStatistics statistics)
+	{
+		this.requests.incrementAndGet();
+		if(statistics.isFailed())
+		{
+			this.failedRequests.incrementAndGet();
+		}
+		for(final InformixMetaDataPhase phase : PHASES)
+		{
+			final int i = phase.ordinal();
+			this.wallTimes.addAndGet(i, statistics.getWallTimeNanos(phase));
+			this.rows.addAndGet(i, statistics.getRows(phase));
+			this.objects.addAndGet(i, statistics.getObjects(phase));
+			this.roundTrips.addAndGet(i, statistics.getRoundTrips(phase));
+		}
+		this.lastRequest = statistics;
+	}
+	
+	@Override
+	public long getRequestCount()
+	{
+		return this.requests.get();
+	}
+	
+	@Override
+	public long getFailedRequestCount()
+	{
+		return this.failedRequests.get();
+	}
+	
+	@Override
+	public long getTotalWallTimeMillis()
+	{
+		long nanos = 0;
+		for(int i = 0; i < PHASES.length; i++)
+		{
+			nanos += this.wallTimes.get(i);
+		}
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+	
+	@Override
+	public Map<String, Long> getPhaseWallTimeMillis()
+	{
+		final Map<String, Long> map = new LinkedHashMap<>();
+		for(final InformixMetaDataPhase phase : PHASES)
+		{
+			map.put(phase.name(), TimeUnit.NANOSECONDS.toMillis(this.wallTimes.get(phase.ordinal())));
+		}
+		return map;
+	}
+	
+	@Override
+	public Map<String, Long> getPhaseRows()
+	{
+		return toMap(this.rows);
+	}
+	
+	@Override
+	public Map<String, Long> getPhaseObjects()
+	{
+		return toMap(this.objects);
+	}
+	
+	@Override
+	public Map<String, Long> getPhaseRoundTrips()
+	{
+		return toMap(this.roundTrips);
+	}
+	
+	private static Map<String, Long> toMap(final AtomicLongArray values)
+	{
+		final Map<String, Long> map = new LinkedHashMap<>();
+		for(final InformixMetaDataPhase phase : PHASES)
+		{
+			map.put(phase.name(), values.get(phase.ordinal()));
+		}
+		return map;
+	}
+	
+	@Override
+	public String getLastRequest()
+	{
+		final InformixMetaDataStatistics statistics = this.lastRequest;
+		return statistics != null ? statistics.toString() : null;
+	}
+	
+	@Override
+	public void reset()
+	{
+		this.requests.set(0);
+		this.failedRequests.set(0);
+		for(int i = 0; i < PHASES.length; i++)
+		{
+			this.wallTimes.set(i, 0);
+			this.rows.set(i, 0);
+			this.objects.set(i, 0);
+			this.roundTrips.set(i, 0);
+		}
+		this.lastRequest = null;
+	}
+}
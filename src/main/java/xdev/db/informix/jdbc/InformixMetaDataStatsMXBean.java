@@ -0,0 +1,51 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.Map;
+
+
+/**
+ * JMX view of the accumulated {@link InformixMetaDataStatistics} of one {@link InformixJDBCDataSource}. The maps are
+ * keyed by {@link InformixMetaDataPhase} name.
+ *
+ * @see InformixJDBCDataSource#registerMetaDataMBean()
+ */
+public interface InformixMetaDataStatsMXBean
+{
+	public long getRequestCount();
+	
+	public long getFailedRequestCount();
+	
+	public long getTotalWallTimeMillis();
+	
+	public Map<String, Long> getPhaseWallTimeMillis();
+	
+	public Map<String, Long> getPhaseRows();
+	
+	public Map<String, Long> getPhaseObjects();
+	
+	public Map<String, Long> getPhaseRoundTrips();
+	
+	/**
+	 * @return the statistics of the most recent request as one line, or <code>null</code>
+	 */
+	public String getLastRequest();
+	
+	public void reset();
+}
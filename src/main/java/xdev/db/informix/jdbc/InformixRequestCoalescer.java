@@ -0,0 +1,156 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import xdev.db.DBException;
+import xdev.util.ProgressMonitor;
+
+
+/**
+ * Single-flight execution of metadata requests: while a request is running, identical requests of other threads
+ * wait for its result instead of querying the catalog again. A result of a cancelled request is not shared, the
+ * waiting requests then run on their own. A waiting request whose own monitor is cancelled fails with a
+ * {@link DBException}.
+ */
+final class InformixRequestCoalescer
+{
+	/**
+	 * A metadata request.
+	 */
+	@FunctionalInterface
+	interface Request<T>
+	{
+		T load() throws DBException;
+	}
+	
+	/**
+	 * Interval in which waiting requests check their own monitor for cancellation.
+	 */
+	private static final long AWAIT_POLL_MILLIS = 100;
+	
+	private final InformixJDBCDataSource dataSource;
+	private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+	
+	InformixRequestCoalescer(final InformixJDBCDataSource dataSource)
+	{
+		this.dataSource = dataSource;
+	}
+	
+	/**
+	 * @param key
+	 *            identifies the request, identical requests must have equal keys
+	 * @param copy
+	 *            creates the private copy of a shared result handed to a waiting request
+	 * @throws DBException
+	 *             if the request fails or <b>monitor</b> is cancelled while waiting for an identical request
+	 */
+	<T> T execute(
+		final String key, final ProgressMonitor monitor,
+		final UnaryOperator<T> copy, final Request<T> request) throws DBException
+	{
+		while(true)
+		{
+			final Flight flight = new Flight();
+			final Flight running = this.flights.putIfAbsent(key, flight);
+			if(running == null)
+			{
+				return this.lead(key, flight, monitor, request);
+			}
+			
+			if(!running.await(monitor))
+			{
+				// loading on its own would be a full load the caller no longer wants
+				throw new DBException(this.dataSource, "Metadata request cancelled"); //$NON-NLS-1$
+			}
+			if(running.failure != null)
+			{
+				throw new DBException(this.dataSource, "Coalesced metadata request failed", //$NON-NLS-1$
+					running.failure);
+			}
+			if(running.shared)
+			{
+				@SuppressWarnings("unchecked")
+				final T result = (T)running.result;
+				return copy.apply(result);
+			}
+		}
+	}
+	
+	private <T> T lead(
+		final String key, final Flight flight,
+		final ProgressMonitor monitor, final Request<T> request) throws DBException
+	{
+		try
+		{
+			final T result = request.load();
+			flight.result = result;
+			flight.shared = result != null && !monitor.isCanceled();
+			return result;
+		}
+		catch(final DBException | RuntimeException e)
+		{
+			flight.failure = e;
+			throw e;
+		}
+		finally
+		{
+			this.flights.remove(key, flight);
+			flight.latch.countDown();
+		}
+	}
+	
+	/**
+	 * One running request, its fields are published by the latch.
+	 */
+	private static final class Flight
+	{
+		final CountDownLatch latch = new CountDownLatch(1);
+		Object result;
+		boolean shared;
+		Exception failure;
+		
+		/**
+		 * @return <code>false</code> if <b>monitor</b> was cancelled before the request finished
+		 */
+		boolean await(final ProgressMonitor monitor)
+		{
+			try
+			{
+				while(!this.latch.await(AWAIT_POLL_MILLIS, TimeUnit.MILLISECONDS))
+				{
+					if(monitor.isCanceled())
+					{
+						return false;
+					}
+				}
+				return true;
+			}
+			catch(final InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+}
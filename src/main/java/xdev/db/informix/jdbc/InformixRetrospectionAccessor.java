@@ -17,16 +17,68 @@
  */
 package xdev.db.informix.jdbc;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import com.xdev.jadoth.sqlengine.dbms.standard.StandardRetrospectionAccessor;
 import com.xdev.jadoth.sqlengine.exceptions.SQLEngineException;
 import com.xdev.jadoth.sqlengine.internal.tables.SqlIndex;
 import com.xdev.jadoth.sqlengine.internal.tables.SqlTableIdentity;
 
+import xdev.db.DBException;
+import xdev.db.jdbc.JDBCConnection;
+
 
+/**
+ * Retrospection over the Informix system catalog (<code>systables</code>, <code>syscolumns</code>,
+ * <code>sysindexes</code>). Indices are loaded for many tables per query and cached per table; the cache is dropped
+ * when the {@link InformixCatalogFingerprint catalog fingerprint} changes, which is checked at most once per
+ * {@link #getIndexCacheValidationInterval() interval}, or when {@link #clearIndexCache()} is called.
+ */
 public class InformixRetrospectionAccessor extends StandardRetrospectionAccessor<InformixDbms>
 {
 	
-	public static final String RETROSPECTION_NOT_IMPLEMENTED_YET = "Retrospection not implemented yet!";
+	private static final int TABLE_CHUNK_SIZE = 256;
+	
+	private static final String COLUMNS_SELECT = "SELECT TRIM(T.owner) AS TABLE_SCHEMA," //$NON-NLS-1$
+		+ " T.tabname AS TABLE_NAME, TC.colname AS COLUMN_NAME, TC.colno AS ORDINAL_POSITION," //$NON-NLS-1$
+		+ " " + InformixColumnTypes.getJdbcTypeSql("TC.coltype") //$NON-NLS-1$ //$NON-NLS-2$
+		+ " AS DATA_TYPE, " //$NON-NLS-1$
+		+ InformixColumnTypes.getLengthSql("TC.coltype", "TC.collength") //$NON-NLS-1$ //$NON-NLS-2$
+		+ " AS COLUMN_SIZE, D.default AS COLUMN_DEFAULT," //$NON-NLS-1$
+		+ " CASE WHEN TC.coltype >= 256 THEN 'NO' ELSE 'YES' END AS IS_NULLABLE" //$NON-NLS-1$
+		+ " FROM informix.systables T INNER JOIN informix.syscolumns TC ON TC.tabid = T.tabid" //$NON-NLS-1$
+		+ " LEFT JOIN informix.sysdefaults D ON D.tabid = TC.tabid AND D.colno = TC.colno"; //$NON-NLS-1$
+	
+	/**
+	 * One row per index column, the position of the column within the index is computed from <code>part1</code> to
+	 * <code>part16</code> (negative for descending columns).
+	 */
+	private static final String INDICES_SELECT = createIndicesSelect(false);
+	/**
+	 * {@link #INDICES_SELECT} with whether an unqualified table name resolves to the table of the row.
+	 */
+	private static final String VISIBLE_INDICES_SELECT = createIndicesSelect(true);
+	private static final String INDICES_ORDER = " ORDER BY 2, 3, 7"; //$NON-NLS-1$
+	
+	private final Map<String, SqlIndex[]> indexCache = new ConcurrentHashMap<>();
+	private volatile long indexCacheValidationInterval = InformixMetaDataCache.DEFAULT_VALIDATION_INTERVAL_MILLIS;
+	private InformixCatalogFingerprint indexCacheFingerprint;
+	private long indexCacheValidatedAt;
 	
 	/**
 	 * @param dbmsadaptor the dbmsadaptor
@@ -36,13 +88,58 @@ public class InformixRetrospectionAccessor extends StandardRetrospectionAccessor
 		super(dbmsadaptor);
 	}
 	
+	private static String createIndicesSelect(final boolean visibility)
+	{
+		final StringBuilder sb = new StringBuilder(1024);
+		sb.append("SELECT TRIM(T.owner), T.tabname, I.idxname, I.idxtype, C.constrtype, COL.colname,") //$NON-NLS-1$
+			.append(" CASE COL.colno"); //$NON-NLS-1$
+		for(int part = 1; part <= InformixIndexDefinition.MAX_PARTS; part++)
+		{
+			sb.append(" WHEN ABS(I.part").append(part).append(") THEN ").append(part); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		sb.append(" END"); //$NON-NLS-1$
+		if(visibility)
+		{
+			sb.append(", CASE WHEN ").append(visibleOwnerCondition()) //$NON-NLS-1$
+				.append(" THEN 1 ELSE 0 END"); //$NON-NLS-1$
+		}
+		sb.append(" FROM informix.systables T") //$NON-NLS-1$
+			.append(" INNER JOIN informix.sysindexes I ON I.tabid = T.tabid") //$NON-NLS-1$
+			.append(" INNER JOIN informix.syscolumns COL ON COL.tabid = I.tabid AND COL.colno IN ("); //$NON-NLS-1$
+		for(int part = 1; part <= InformixIndexDefinition.MAX_PARTS; part++)
+		{
+			sb.append(part > 1 ? ", " : "").append("ABS(I.part").append(part).append(')'); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		sb.append(") LEFT JOIN informix.sysconstraints C") //$NON-NLS-1$
+			.append(" ON C.tabid = I.tabid AND C.idxname = I.idxname AND C.constrtype = 'P'"); //$NON-NLS-1$
+		return sb.toString();
+	}
+	
+	/**
+	 * @return the interval in milliseconds in which the index cache is checked against the catalog at most once
+	 */
+	public long getIndexCacheValidationInterval()
+	{
+		return this.indexCacheValidationInterval;
+	}
+	
+	/**
+	 * Sets the interval in milliseconds in which the index cache is checked against the catalog at most once,
+	 * <code>0</code> checks on every load. Defaults to
+	 * {@value InformixMetaDataCache#DEFAULT_VALIDATION_INTERVAL_MILLIS}.
+	 */
+	public void setIndexCacheValidationInterval(final long indexCacheValidationInterval)
+	{
+		this.indexCacheValidationInterval = indexCacheValidationInterval;
+	}
+	
 	/**
 	 * @see com.xdev.jadoth.sqlengine.dbms.DbmsRetrospectionAccessor#createSelect_INFORMATION_SCHEMA_COLUMNS(com.xdev.jadoth.sqlengine.internal.tables.SqlTableIdentity)
 	 */
 	@Override
 	public String createSelect_INFORMATION_SCHEMA_COLUMNS(final SqlTableIdentity table)
 	{
-		throw new RuntimeException(RETROSPECTION_NOT_IMPLEMENTED_YET);
+		return COLUMNS_SELECT + " WHERE " + tableCondition(table) + " ORDER BY TC.colno"; //$NON-NLS-1$ //$NON-NLS-2$
 	}
 	
 	/**
@@ -51,7 +148,32 @@ public class InformixRetrospectionAccessor extends StandardRetrospectionAccessor
 	@Override
 	public String createSelect_INFORMATION_SCHEMA_INDICES(final SqlTableIdentity table)
 	{
-		throw new RuntimeException(RETROSPECTION_NOT_IMPLEMENTED_YET);
+		return INDICES_SELECT + " WHERE " + tableCondition(table) + INDICES_ORDER; //$NON-NLS-1$
+	}
+	
+	/**
+	 * @return the condition on <code>informix.systables T</code> for <b>table</b>, without schema the name is
+	 *         resolved like an unqualified name in a statement: a table of the current user wins
+	 */
+	private static String tableCondition(final SqlTableIdentity table)
+	{
+		final String condition = "T.tabname = " + literal(table.sql().name); //$NON-NLS-1$
+		if(table.sql().schema != null)
+		{
+			return condition + " AND TRIM(T.owner) = " + literal(table.sql().schema); //$NON-NLS-1$
+		}
+		return condition + " AND " + visibleOwnerCondition(); //$NON-NLS-1$
+	}
+	
+	private static String visibleOwnerCondition()
+	{
+		return "(TRIM(T.owner) = USER OR NOT EXISTS (SELECT 1 FROM informix.systables Y" //$NON-NLS-1$
+			+ " WHERE Y.tabname = T.tabname AND TRIM(Y.owner) = USER))"; //$NON-NLS-1$
+	}
+	
+	private static String literal(final String value)
+	{
+		return "'" + value.replace("'", "''") + "'"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 	}
 	
 	/**
@@ -61,6 +183,253 @@ public class InformixRetrospectionAccessor extends StandardRetrospectionAccessor
 	@Override
 	public SqlIndex[] loadIndices(final SqlTableIdentity table) throws SQLEngineException
 	{
-		throw new RuntimeException(RETROSPECTION_NOT_IMPLEMENTED_YET);
+		return this.loadIndices(Collections.singletonList(table)).get(table);
+	}
+	
+	/**
+	 * Loads the indices of several tables, those not cached yet are read with one query per
+	 * {@value #TABLE_CHUNK_SIZE} tables.
+	 *
+	 * @return the indices by table, an empty array for tables without indices or which do not exist
+	 */
+	public Map<SqlTableIdentity, SqlIndex[]> loadIndices(final Collection<? extends SqlTableIdentity> tables)
+		throws SQLEngineException
+	{
+		if(this.isIndexCacheValidationDue())
+		{
+			this.validateIndexCache();
+		}
+		
+		final Map<SqlTableIdentity, SqlIndex[]> result = new LinkedHashMap<>();
+		final List<SqlTableIdentity> missing = new ArrayList<>();
+		for(final SqlTableIdentity table : tables)
+		{
+			final SqlIndex[] cached = this.indexCache.get(cacheKey(table));
+			if(cached != null)
+			{
+				result.put(table, cached.clone());
+			}
+			else
+			{
+				missing.add(table);
+			}
+		}
+		
+		if(!missing.isEmpty())
+		{
+			final Map<String, Set<String>> visibleOwners = new HashMap<>();
+			final Map<String, Map<String, Map<String, IndexColumns>>> indicesByTable = this.queryIndices(missing,
+				visibleOwners);
+			for(final SqlTableIdentity table : missing)
+			{
+				final SqlIndex[] indices = toSqlIndices(table, indicesByTable, visibleOwners);
+				this.indexCache.put(cacheKey(table), indices);
+				result.put(table, indices.clone());
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Drops all cached indices, e.g. after DDL statements.
+	 */
+	public void clearIndexCache()
+	{
+		this.indexCache.clear();
+	}
+	
+	private synchronized boolean isIndexCacheValidationDue()
+	{
+		return this.indexCacheFingerprint == null || System.nanoTime()
+			- this.indexCacheValidatedAt >= TimeUnit.MILLISECONDS.toNanos(this.indexCacheValidationInterval);
+	}
+	
+	/**
+	 * Drops the cached indices if the catalog changed since they were loaded, creating or dropping an index changes
+	 * the version of its table.
+	 */
+	private void validateIndexCache() throws SQLEngineException
+	{
+		final InformixCatalogFingerprint fingerprint;
+		try(final JDBCConnection<?, ?> jdbcConnection = this.openConnection())
+		{
+			fingerprint = InformixCatalogFingerprint.read(jdbcConnection.getConnection());
+		}
+		catch(final DBException | SQLException e)
+		{
+			throw new SQLEngineException(e);
+		}
+		
+		synchronized(this)
+		{
+			if(!fingerprint.equals(this.indexCacheFingerprint))
+			{
+				this.indexCache.clear();
+				this.indexCacheFingerprint = fingerprint;
+			}
+			this.indexCacheValidatedAt = System.nanoTime();
+		}
+	}
+	
+	private JDBCConnection<?, ?> openConnection() throws SQLEngineException, DBException
+	{
+		final InformixJDBCDataSource dataSource = this.getDbmsAdaptor().getDataSource();
+		if(dataSource == null)
+		{
+			throw new SQLEngineException("No data source to load indices from"); //$NON-NLS-1$
+		}
+		return (JDBCConnection<?, ?>)dataSource.openConnection();
+	}
+	
+	private static String cacheKey(final SqlTableIdentity table)
+	{
+		final String schema = table.sql().schema;
+		return (schema != null ? schema.trim().toLowerCase(Locale.ROOT) : "") //$NON-NLS-1$
+			+ "." + table.sql().name.trim().toLowerCase(Locale.ROOT); //$NON-NLS-1$
+	}
+	
+	/**
+	 * @param visibleOwners
+	 *            receives the owners an unqualified name resolves to by lower case table name
+	 * @return the index columns by lower case table name, owner and index name
+	 */
+	private Map<String, Map<String, Map<String, IndexColumns>>> queryIndices(
+		final List<SqlTableIdentity> tables, final Map<String, Set<String>> visibleOwners)
+		throws SQLEngineException
+	{
+		final Set<String> names = new LinkedHashSet<>();
+		for(final SqlTableIdentity table : tables)
+		{
+			// Informix stores undelimited identifiers in lower case
+			names.add(table.sql().name);
+			names.add(table.sql().name.toLowerCase(Locale.ROOT));
+		}
+		final List<String> nameList = new ArrayList<>(names);
+		
+		final Map<String, Map<String, Map<String, IndexColumns>>> indicesByTable = new HashMap<>();
+		try(final JDBCConnection<?, ?> jdbcConnection = this.openConnection();
+			final InformixStatementCache statements = InformixStatementCache.of(jdbcConnection.getConnection()))
+		{
+			for(int from = 0; from < nameList.size(); from += TABLE_CHUNK_SIZE)
+			{
+				final List<String> chunk = nameList.subList(from, Math.min(from + TABLE_CHUNK_SIZE, nameList.size()));
+				this.queryIndices(statements, chunk, indicesByTable, visibleOwners);
+			}
+		}
+		catch(final DBException | SQLException e)
+		{
+			throw new SQLEngineException(e);
+		}
+		return indicesByTable;
+	}
+	
+	private void queryIndices(
+		final InformixStatementCache statements, final List<String> names,
+		final Map<String, Map<String, Map<String, IndexColumns>>> indicesByTable,
+		final Map<String, Set<String>> visibleOwners) throws SQLException
+	{
+		final int size = InformixStatementCache.inListSize(names.size(), TABLE_CHUNK_SIZE);
+		final StringBuilder sql = new StringBuilder(VISIBLE_INDICES_SELECT)
+			.append(" WHERE T.tabname IN ("); //$NON-NLS-1$
+		for(int i = 0; i < size; i++)
+		{
+			sql.append(i > 0 ? ", ?" : "?"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		sql.append(')').append(INDICES_ORDER);
+		
+		final PreparedStatement statement = statements.prepare(sql.toString());
+		for(int i = 0; i < size; i++)
+		{
+			statement.setString(i + 1, names.get(Math.min(i, names.size() - 1)));
+		}
+		
+		try(final ResultSet rs = statement.executeQuery())
+		{
+			while(rs.next())
+			{
+				final String owner = rs.getString(1).trim().toLowerCase(Locale.ROOT);
+				final String tableName = rs.getString(2).trim().toLowerCase(Locale.ROOT);
+				final String indexName = rs.getString(3).trim();
+				
+				IndexColumns columns = indicesByTable
+					.computeIfAbsent(tableName, key -> new LinkedHashMap<>())
+					.computeIfAbsent(owner, key -> new LinkedHashMap<>())
+					.get(indexName);
+				if(columns == null)
+				{
+					final boolean unique = rs.getString(5) != null
+						|| "U".equalsIgnoreCase(rs.getString(4).trim()); //$NON-NLS-1$
+					columns = new IndexColumns(unique);
+					indicesByTable.get(tableName).get(owner).put(indexName, columns);
+				}
+				columns.names.add(rs.getString(6).trim());
+				if(rs.getInt(8) == 1)
+				{
+					visibleOwners.computeIfAbsent(tableName, key -> new HashSet<>()).add(owner);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Without schema the indices of the table an unqualified name resolves to are returned, see
+	 * {@link #tableCondition(SqlTableIdentity)}.
+	 *
+	 * @throws SQLEngineException
+	 *             if the unqualified name resolves to tables of several owners
+	 */
+	private static SqlIndex[] toSqlIndices(
+		final SqlTableIdentity table,
+		final Map<String, Map<String, Map<String, IndexColumns>>> indicesByTable,
+		final Map<String, Set<String>> visibleOwners) throws SQLEngineException
+	{
+		final String tableName = table.sql().name.trim().toLowerCase(Locale.ROOT);
+		final Map<String, Map<String, IndexColumns>> owners = indicesByTable.get(tableName);
+		if(owners == null || owners.isEmpty())
+		{
+			return new SqlIndex[0];
+		}
+		
+		final String owner;
+		if(table.sql().schema != null)
+		{
+			owner = table.sql().schema.trim().toLowerCase(Locale.ROOT);
+		}
+		else
+		{
+			final Set<String> visible = visibleOwners.getOrDefault(tableName, Collections.emptySet());
+			if(visible.size() > 1)
+			{
+				throw new SQLEngineException("Ambiguous table name: " + table.sql().name); //$NON-NLS-1$
+			}
+			owner = visible.isEmpty() ? null : visible.iterator().next();
+		}
+		
+		final Map<String, IndexColumns> indices = owner != null ? owners.get(owner) : null;
+		if(indices == null)
+		{
+			return new SqlIndex[0];
+		}
+		
+		final SqlIndex[] sqlIndices = new SqlIndex[indices.size()];
+		int i = 0;
+		for(final Map.Entry<String, IndexColumns> entry : indices.entrySet())
+		{
+			final IndexColumns columns = entry.getValue();
+			sqlIndices[i++] = new SqlIndex(entry.getKey(), table, columns.unique, columns.names.toArray());
+		}
+		return sqlIndices;
+	}
+	
+	private static final class IndexColumns
+	{
+		final boolean unique;
+		final List<String> names = new ArrayList<>(4);
+		
+		IndexColumns(final boolean unique)
+		{
+			this.unique = unique;
+		}
 	}
 }
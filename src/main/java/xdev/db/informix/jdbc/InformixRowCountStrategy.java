@@ -0,0 +1,42 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+/**
+ * Strategies to determine the row counts of tables when {@link xdev.db.DBMetaData#ROW_COUNT} is requested.
+ *
+ * @see InformixJDBCMetaData#setRowCountStrategy(InformixRowCountStrategy)
+ */
+public enum InformixRowCountStrategy
+{
+	/**
+	 * Runs a <code>count(*)</code> for every table. Exact, but scans the whole table.
+	 */
+	EXACT,
+	
+	/**
+	 * Uses <code>systables.nrows</code> as of the last <code>UPDATE STATISTICS</code>, read with the catalog query.
+	 * The row count of a table without statistics is unknown.
+	 */
+	STATISTICS,
+	
+	/**
+	 * Sums the live partition counters (<code>sysmaster:sysptnhdr.nrows</code>) of the table's partitions.
+	 */
+	LIVE
+}
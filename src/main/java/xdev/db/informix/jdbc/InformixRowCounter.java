@@ -0,0 +1,263 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import xdev.db.DBException;
+import xdev.db.DBMetaData.TableInfo;
+import xdev.db.jdbc.JDBCConnection;
+import xdev.util.ProgressMonitor;
+
+
+/**
+ * Counts the rows of tables with <code>count(*)</code> on a bounded pool of workers, each with its own connection.
+ * The largest tables (by estimate) are counted first, so the slowest counts do not end up at the tail. A failing
+ * table is reported in {@link Result#getFailures()} and does not abort the other counts, a worker without connection
+ * in {@link Result#getConnectionFailures()}.
+ */
+class InformixRowCounter
+{
+	private static final long POLL_INTERVAL_MILLIS = 200;
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+	
+	private final InformixJDBCDataSource dataSource;
+	private final int parallelism;
+	private final int timeoutSeconds;
+	
+	/**
+	 * @param parallelism    the maximum number of concurrent counts, and thereby of connections
+	 * @param timeoutSeconds the query timeout per table, <code>0</code> for none
+	 */
+	InformixRowCounter(final InformixJDBCDataSource dataSource, final int parallelism, final int timeoutSeconds)
+	{
+		this.dataSource = dataSource;
+		this.parallelism = Math.max(1, parallelism);
+		this.timeoutSeconds = Math.max(0, timeoutSeconds);
+	}
+	
+	/**
+	 * @param tables    the tables to count
+	 * @param estimates estimated row counts by table name, used to count the largest tables first
+	 * @param monitor   reports each counted table, cancellation stops all running counts
+	 */
+	Result count(
+		final Collection<TableInfo> tables, final Map<String, Integer> estimates,
+		final ProgressMonitor monitor)
+	{
+		final Result result = new Result();
+		if(tables.isEmpty())
+		{
+			return result;
+		}
+		
+		final List<TableInfo> ordered = new ArrayList<>(tables);
+		Collections.sort(ordered, Comparator.comparingInt(
+			(final TableInfo table) -> estimates.getOrDefault(table.getName(), -1)).reversed());
+		
+		final Queue<TableInfo> work = new ConcurrentLinkedQueue<>(ordered);
+		final BlockingQueue<String> finished = new LinkedBlockingQueue<>();
+		final Collection<Statement> running = ConcurrentHashMap.newKeySet();
+		final int workerCount = Math.min(this.parallelism, ordered.size());
+		final ExecutorService executor = Executors.newFixedThreadPool(workerCount, runnable -> {
+			final Thread thread = new Thread(runnable,
+				"Informix row counter " + THREAD_NUMBER.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		try
+		{
+			for(int i = 0; i < workerCount; i++)
+			{
+				executor.execute(() -> this.work(work, finished, running, result));
+			}
+			executor.shutdown();
+			
+			// the monitor is only touched by the calling thread
+			int done = 0;
+			while(done < ordered.size())
+			{
+				if(monitor.isCanceled())
+				{
+					this.cancel(work, running, result);
+					break;
+				}
+				
+				final String tableName = finished.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+				if(tableName != null)
+				{
+					monitor.setTaskName(tableName);
+					monitor.worked(1);
+					done++;
+				}
+				else if(executor.isTerminated() && finished.isEmpty())
+				{
+					break;
+				}
+			}
+		}
+		catch(final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			this.cancel(work, running, result);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		
+		return result;
+	}
+	
+	private void cancel(final Queue<TableInfo> work, final Collection<Statement> running, final Result result)
+	{
+		result.canceled = true;
+		work.clear();
+		for(final Statement statement : running)
+		{
+			try
+			{
+				statement.cancel();
+			}
+			catch(final SQLException e)
+			{
+				// statement already finished
+			}
+		}
+	}
+	
+	private void work(
+		final Queue<TableInfo> work, final BlockingQueue<String> finished,
+		final Collection<Statement> running, final Result result)
+	{
+		JDBCConnection<?, ?> jdbcConnection = null;
+		try
+		{
+			jdbcConnection = (JDBCConnection<?, ?>)this.dataSource.openConnection();
+			final Connection connection = jdbcConnection.getConnection();
+			
+			TableInfo table;
+			while((table = work.poll()) != null)
+			{
+				final String tableName = table.getName();
+				try(final Statement statement = connection.createStatement())
+				{
+					statement.setQueryTimeout(this.timeoutSeconds);
+					running.add(statement);
+					try(final ResultSet rs = statement.executeQuery("select count(*) from " + tableName)) //$NON-NLS-1$
+					{
+						if(rs.next())
+						{
+							result.counts.put(tableName, rs.getInt(1));
+						}
+					}
+					finally
+					{
+						running.remove(statement);
+					}
+				}
+				catch(final SQLException e)
+				{
+					if(!result.canceled)
+					{
+						result.failures.put(tableName, e);
+					}
+				}
+				finished.add(tableName);
+			}
+		}
+		catch(final DBException e)
+		{
+			// no connection for this worker, the remaining tables are left to the others
+			result.connectionFailures.add(e);
+		}
+		finally
+		{
+			if(jdbcConnection != null)
+			{
+				try
+				{
+					jdbcConnection.close();
+				}
+				catch(final DBException e)
+				{
+					// ignore
+				}
+			}
+		}
+	}
+	
+	/**
+	 * The outcome of {@link InformixRowCounter#count(Collection, Map, ProgressMonitor)}.
+	 */
+	static class Result
+	{
+		private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+		private final Map<String, Exception> failures = new ConcurrentHashMap<>();
+		private final Queue<Exception> connectionFailures = new ConcurrentLinkedQueue<>();
+		private volatile boolean canceled;
+		
+		/**
+		 * @return the row counts by table name
+		 */
+		Map<String, Integer> getCounts()
+		{
+			return this.counts;
+		}
+		
+		/**
+		 * @return the errors of the tables which could not be counted, by table name
+		 */
+		Map<String, Exception> getFailures()
+		{
+			return this.failures;
+		}
+		
+		/**
+		 * @return the errors of the workers which could not open a connection
+		 */
+		Collection<Exception> getConnectionFailures()
+		{
+			return this.connectionFailures;
+		}
+		
+		boolean isCanceled()
+		{
+			return this.canceled;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import xdev.db.DBMetaData.TableMetaData;
+
+
+/**
+ * The tables which were added, altered or dropped between two {@link InformixSchemaVersion}s. Only the metadata of
+ * added and altered tables is loaded; a renamed table is reported as dropped under its old and added under its new
+ * name.
+ *
+ * @see InformixJDBCMetaData#getSchemaChanges(xdev.util.ProgressMonitor, int, InformixSchemaVersion)
+ */
+public final class InformixSchemaChanges
+{
+	private final InformixSchemaVersion schemaVersion;
+	private final TableMetaData[] addedTables;
+	private final TableMetaData[] alteredTables;
+	private final String[] droppedTables;
+	
+	InformixSchemaChanges(
+		final InformixSchemaVersion schemaVersion, final TableMetaData[] addedTables,
+		final TableMetaData[] alteredTables, final String[] droppedTables)
+	{
+		this.schemaVersion = schemaVersion;
+		this.addedTables = addedTables;
+		this.alteredTables = alteredTables;
+		this.droppedTables = droppedTables;
+	}
+	
+	/**
+	 * @return the version the changes lead to, to be passed to the next call
+	 */
+	public InformixSchemaVersion getSchemaVersion()
+	{
+		return this.schemaVersion;
+	}
+	
+	public TableMetaData[] getAddedTables()
+	{
+		return this.addedTables.clone();
+	}
+	
+	public TableMetaData[] getAlteredTables()
+	{
+		return this.alteredTables.clone();
+	}
+	
+	/**
+	 * @return the lower case names of the dropped tables
+	 */
+	public String[] getDroppedTables()
+	{
+		return this.droppedTables.clone();
+	}
+	
+	public boolean isEmpty()
+	{
+		return this.addedTables.length == 0 && this.alteredTables.length == 0 && this.droppedTables.length == 0;
+	}
+}
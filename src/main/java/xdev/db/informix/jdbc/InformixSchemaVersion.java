@@ -0,0 +1,55 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.Collections;
+import java.util.Map;
+
+import xdev.db.informix.jdbc.InformixMetaDataCache.TableVersion;
+
+
+/**
+ * Opaque version of the table catalog, used as the starting point of
+ * {@link InformixJDBCMetaData#getSchemaChanges(xdev.util.ProgressMonitor, int, InformixSchemaVersion)}.
+ * Holds the tabid, name, <code>version</code> and <code>created</code> of every <code>systables</code> row.
+ */
+public final class InformixSchemaVersion
+{
+	final InformixCatalogFingerprint fingerprint;
+	final Map<Integer, TableVersion> tableVersions;
+	
+	InformixSchemaVersion(final InformixCatalogFingerprint fingerprint, final Map<Integer, TableVersion> tableVersions)
+	{
+		this.fingerprint = fingerprint;
+		this.tableVersions = Collections.unmodifiableMap(tableVersions);
+	}
+	
+	/**
+	 * @return the number of <code>systables</code> rows of this version
+	 */
+	public int getTableCount()
+	{
+		return this.tableVersions.size();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.fingerprint.toString();
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+
+/**
+ * Prepared catalog statements of one physical connection, so the server parses and optimises each catalog query
+ * once per connection instead of once per chunk or request. A request takes the idle cache of its connection with
+ * {@link #of(Connection)} and hands it back with {@link #close()}; the statements are closed once the connection is
+ * found closed.
+ * <p>
+ * Statements with the same SQL are shared: a result set has to be read before the same SQL is executed again. A
+ * cache is used by one request at a time, a concurrent request on the same connection gets a cache of its own.
+ */
+final class InformixStatementCache implements AutoCloseable
+{
+	static final int MAX_STATEMENTS = 128;
+	
+	/**
+	 * The caches not in use by a request, by connection.
+	 */
+	private static final Map<Connection, InformixStatementCache> IDLE = new IdentityHashMap<>();
+	
+	private final Connection connection;
+	private final Map<String, PreparedStatement> statements = new LinkedHashMap<String, PreparedStatement>(16,
+		0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(final Entry<String, PreparedStatement> eldest)
+		{
+			if(this.size() > MAX_STATEMENTS)
+			{
+				close(eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+	};
+	
+	private InformixStatementCache(final Connection connection)
+	{
+		this.connection = connection;
+	}
+	
+	/**
+	 * @return the idle cache of <b>connection</b> or a new one, to be handed back with {@link #close()}
+	 */
+	static InformixStatementCache of(final Connection connection)
+	{
+		synchronized(IDLE)
+		{
+			final InformixStatementCache cache = IDLE.remove(connection);
+			if(cache != null)
+			{
+				return cache;
+			}
+		}
+		return new InformixStatementCache(connection);
+	}
+	
+	Connection getConnection()
+	{
+		return this.connection;
+	}
+	
+	/**
+	 * @return the cached statement for <b>sql</b> with its parameters cleared, prepared on first use
+	 */
+	PreparedStatement prepare(final String sql) throws SQLException
+	{
+		PreparedStatement statement = this.statements.get(sql);
+		if(statement != null && !statement.isClosed())
+		{
+			statement.clearParameters();
+			return statement;
+		}
+		
+		statement = this.connection.prepareStatement(sql);
+		this.statements.put(sql, statement);
+		return statement;
+	}
+	
+	/**
+	 * A query which is not repeated, e.g. one over the whole catalog, runs on a plain statement: preparing it would
+	 * cost a separate round trip and a slot of the cache for nothing.
+	 *
+	 * @return a new statement, to be closed by the caller
+	 */
+	Statement createStatement() throws SQLException
+	{
+		return this.connection.createStatement();
+	}
+	
+	/**
+	 * Hands the cache back for the next request on its connection; the statements are closed instead if the
+	 * connection is closed or another cache of it is idle already. The connection stays open.
+	 */
+	@Override
+	public void close()
+	{
+		synchronized(IDLE)
+		{
+			removeClosed();
+			if(isOpen(this.connection) && IDLE.putIfAbsent(this.connection, this) == null)
+			{
+				return;
+			}
+		}
+		this.closeStatements();
+	}
+	
+	/**
+	 * Drops the idle caches of closed connections, closing a connection closes its statements as well.
+	 */
+	private static void removeClosed()
+	{
+		for(final Iterator<InformixStatementCache> iterator = IDLE.values().iterator(); iterator.hasNext();)
+		{
+			final InformixStatementCache cache = iterator.next();
+			if(!isOpen(cache.connection))
+			{
+				iterator.remove();
+				cache.statements.clear();
+			}
+		}
+	}
+	
+	private static boolean isOpen(final Connection connection)
+	{
+		try
+		{
+			return !connection.isClosed();
+		}
+		catch(final SQLException e)
+		{
+			return false;
+		}
+	}
+	
+	private void closeStatements()
+	{
+		for(final PreparedStatement statement : this.statements.values())
+		{
+			close(statement);
+		}
+		this.statements.clear();
+	}
+	
+	private static void close(final PreparedStatement statement)
+	{
+		try
+		{
+			statement.close();
+		}
+		catch(final SQLException e)
+		{
+			// the connection is probably closed already, which closed the statement as well
+		}
+	}
+	
+	/**
+	 * Placeholders for an IN-list of <b>count</b> values are rounded up to a power of two, so only a few distinct
+	 * statements are prepared; the surplus placeholders are bound to the last value again.
+	 *
+	 * @return the number of placeholders to use for <b>count</b> values, at most <b>max</b>
+	 */
+	static int inListSize(final int count, final int max)
+	{
+		final int size = count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+		return Math.min(max, size);
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+
+/**
+ * The local synonyms of the catalog, resolved to their base tables. Chains of synonyms are followed to the table
+ * at their end, synonyms of remote tables (without a <code>btabid</code>) are ignored. Instances are immutable.
+ */
+final class InformixSynonyms
+{
+	static final InformixSynonyms EMPTY = new InformixSynonyms(Collections.<Integer, Integer>emptyMap(),
+		Collections.<String, String[]>emptyMap(), 0, 0);
+	
+	private static final String SQL = "SELECT a.tabid, a.tabname, b.btabid" //$NON-NLS-1$
+		+ " FROM informix.systables a, informix.syssyntable b WHERE a.tabid = b.tabid"; //$NON-NLS-1$
+	private static final String[] NONE = new String[0];
+	
+	private final Map<Integer, Integer> baseTabids;
+	private final Map<String, String[]> names;
+	private final int synonymCount;
+	private final int rowCount;
+	
+	private InformixSynonyms(
+		final Map<Integer, Integer> baseTabids, final Map<String, String[]> names,
+		final int synonymCount, final int rowCount)
+	{
+		this.baseTabids = baseTabids;
+		this.names = names;
+		this.synonymCount = synonymCount;
+		this.rowCount = rowCount;
+	}
+	
+	static InformixSynonyms read(final Connection connection) throws SQLException
+	{
+		final Map<Integer, String> synonymNames = new HashMap<>();
+		final Map<Integer, Integer> btabids = new HashMap<>();
+		int rows = 0;
+		try(final Statement statement = connection.createStatement();
+			final ResultSet rs = statement.executeQuery(SQL))
+		{
+			while(rs.next())
+			{
+				final int tabid = rs.getInt(1);
+				synonymNames.put(tabid, rs.getString(2));
+				final int btabid = rs.getInt(3);
+				if(!rs.wasNull())
+				{
+					btabids.put(tabid, btabid);
+				}
+				rows++;
+			}
+		}
+		return resolve(synonymNames, btabids, rows);
+	}
+	
+	static InformixSynonyms resolve(
+		final Map<Integer, String> synonymNames, final Map<Integer, Integer> btabids,
+		final int rowCount)
+	{
+		final Map<Integer, Integer> baseTabids = new HashMap<>();
+		final Map<String, List<String>> lists = new HashMap<>();
+		for(final Integer tabid : btabids.keySet())
+		{
+			final Integer base = resolveBase(tabid, btabids);
+			if(base != null)
+			{
+				baseTabids.put(tabid, base);
+				lists.computeIfAbsent(base.toString(), key -> new ArrayList<>(1)).add(synonymNames.get(tabid));
+			}
+		}
+		
+		final Map<String, String[]> names = new HashMap<>(lists.size() * 4 / 3 + 1);
+		for(final Entry<String, List<String>> entry : lists.entrySet())
+		{
+			final List<String> list = entry.getValue();
+			names.put(entry.getKey(), list.toArray(new String[list.size()]));
+		}
+		return new InformixSynonyms(baseTabids, names, baseTabids.size(), rowCount);
+	}
+	
+	/**
+	 * @return the tabid at the end of the chain starting at the synonym <b>tabid</b>, <code>null</code> for a cycle
+	 */
+	private static Integer resolveBase(final Integer tabid, final Map<Integer, Integer> btabids)
+	{
+		Integer base = btabids.get(tabid);
+		for(int hops = 0; hops < btabids.size(); hops++)
+		{
+			final Integer next = btabids.get(base);
+			if(next == null)
+			{
+				return base;
+			}
+			base = next;
+		}
+		return null;
+	}
+	
+	/**
+	 * @return the names of the synonyms resolving to the table <b>tabid</b>, the array must not be modified
+	 */
+	String[] getSynonyms(final String tabid)
+	{
+		final String[] synonyms = this.names.get(tabid);
+		return synonyms != null ? synonyms : NONE;
+	}
+	
+	/**
+	 * @return the base table of the synonym <b>tabid</b>, or <b>tabid</b> itself if it is no synonym
+	 */
+	int getBaseTabid(final int tabid)
+	{
+		final Integer base = this.baseTabids.get(tabid);
+		return base != null ? base : tabid;
+	}
+	
+	/**
+	 * @return the number of synonyms resolved to a local table
+	 */
+	int getSynonymCount()
+	{
+		return this.synonymCount;
+	}
+	
+	/**
+	 * @return the number of <code>syssyntable</code> rows read
+	 */
+	int getRowCount()
+	{
+		return this.rowCount;
+	}
+}
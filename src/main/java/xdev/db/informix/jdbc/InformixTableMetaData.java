@@ -0,0 +1,120 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import xdev.db.ColumnMetaData;
+import xdev.db.DBMetaData.TableInfo;
+import xdev.db.DBMetaData.TableMetaData;
+import xdev.db.Index;
+
+
+/**
+ * {@link TableMetaData} which additionally tells whether its row count is exact or only an estimate.
+ * <p>
+ * The column and index arrays are read-only views: {@link #getColumns()} and {@link #getIndices()} return copies,
+ * so synonyms and cached copies share the arrays of their table.
+ *
+ * @see InformixRowCountStrategy
+ */
+public class InformixTableMetaData extends TableMetaData
+{
+	private final ColumnMetaData[] columns;
+	private final Index[] indices;
+	private final boolean rowCountExact;
+	
+	public InformixTableMetaData(
+		final TableInfo tableInfo, final ColumnMetaData[] columns, final Index[] indices,
+		final int rowCount, final boolean rowCountExact)
+	{
+		super(tableInfo, columns, indices, rowCount);
+		this.columns = columns;
+		this.indices = indices;
+		this.rowCountExact = rowCountExact;
+	}
+	
+	/**
+	 * @return a copy of the column array, the columns themselves are immutable
+	 */
+	@Override
+	public ColumnMetaData[] getColumns()
+	{
+		return this.columns.clone();
+	}
+	
+	/**
+	 * @return copies of the indices, which have a setter for their columns
+	 */
+	@Override
+	public Index[] getIndices()
+	{
+		return copyOf(this.indices);
+	}
+	
+	private static Index[] copyOf(final Index[] indices)
+	{
+		final Index[] copies = new Index[indices.length];
+		for(int i = 0; i < copies.length; i++)
+		{
+			final Index index = indices[i];
+			copies[i] = new Index(index.getName(), index.getType(), index.getColumns().clone());
+		}
+		return copies;
+	}
+	
+	/**
+	 * @return <code>true</code> if the row count was determined with <code>count(*)</code>, <code>false</code> if it
+	 * is an estimate or unknown
+	 */
+	public boolean isRowCountExact()
+	{
+		return this.rowCountExact;
+	}
+	
+	/**
+	 * @return <b>table</b> named by <b>tableInfo</b>, sharing the arrays of an {@link InformixTableMetaData}; those
+	 *         of any other table are copied once
+	 */
+	static TableMetaData copyOf(final TableMetaData table, final TableInfo tableInfo)
+	{
+		if(table instanceof InformixTableMetaData && !(table instanceof InformixLazyTableMetaData))
+		{
+			final InformixTableMetaData view = (InformixTableMetaData)table;
+			return new InformixTableMetaData(tableInfo, view.columns, view.indices, view.getRowCount(),
+				view.rowCountExact);
+		}
+		return new InformixTableMetaData(tableInfo, table.getColumns().clone(), copyOf(table.getIndices()),
+			table.getRowCount(),
+			table instanceof InformixTableMetaData && ((InformixTableMetaData)table).isRowCountExact());
+	}
+	
+	/**
+	 * @return copies of <b>tables</b>, <code>null</code> elements stay <code>null</code>
+	 */
+	static TableMetaData[] copyOf(final TableMetaData[] tables)
+	{
+		final TableMetaData[] copies = new TableMetaData[tables.length];
+		for(int i = 0; i < tables.length; i++)
+		{
+			if(tables[i] != null)
+			{
+				copies[i] = copyOf(tables[i], tables[i].getTableInfo());
+			}
+		}
+		return copies;
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import java.util.Arrays;
+
+import com.informix.lang.IfxTypes;
+
+
+/**
+ * Reusable parser for the type id lists returned by <code>ifx_param_ids</code> and <code>ifx_ret_ids</code>, e.g.
+ * <code>(2,0),(13,0)</code>: the first number of each pair is the Informix type, which is mapped to its JDBC type.
+ * Parsing reuses the internal buffer, so no objects are created once it is large enough.
+ */
+final class InformixTypeIds
+{
+	private int[] types = new int[16];
+	private int size;
+	
+	/**
+	 * Replaces the content of this instance with the types of <b>value</b>.
+	 */
+	InformixTypeIds parse(final String value)
+	{
+		this.size = 0;
+		if(value == null)
+		{
+			return this;
+		}
+		
+		// tokens are the runs between '(', ',' and ')', every other token starting with the first is a type
+		boolean typeToken = true;
+		int pos = 0;
+		final int length = value.length();
+		while(pos < length)
+		{
+			while(pos < length && isDelimiter(value.charAt(pos)))
+			{
+				pos++;
+			}
+			if(pos == length)
+			{
+				break;
+			}
+			
+			final int start = pos;
+			while(pos < length && !isDelimiter(value.charAt(pos)))
+			{
+				pos++;
+			}
+			if(typeToken)
+			{
+				this.add(toJdbcType(parseInt(value, start, pos)));
+			}
+			typeToken = !typeToken;
+		}
+		return this;
+	}
+	
+	private static boolean isDelimiter(final char ch)
+	{
+		return ch == '(' || ch == ',' || ch == ')';
+	}
+	
+	private static int parseInt(final String value, final int start, final int end)
+	{
+		int pos = start;
+		while(pos < end && Character.isWhitespace(value.charAt(pos)))
+		{
+			pos++;
+		}
+		final boolean negative = pos < end && value.charAt(pos) == '-';
+		if(negative)
+		{
+			pos++;
+		}
+		
+		int result = 0;
+		boolean digits = false;
+		for(; pos < end; pos++)
+		{
+			final char ch = value.charAt(pos);
+			if(ch >= '0' && ch <= '9')
+			{
+				result = result * 10 + (ch - '0');
+				digits = true;
+			}
+			else if(!Character.isWhitespace(ch))
+			{
+				throw new NumberFormatException(value.substring(start, end));
+			}
+		}
+		if(!digits)
+		{
+			throw new NumberFormatException(value.substring(start, end));
+		}
+		return negative ? -result : result;
+	}
+	
+	private static int toJdbcType(final int ifxType)
+	{
+		// Informix FLOAT is reported as JDBC FLOAT, not DOUBLE
+		return ifxType == 4 ? 6 : IfxTypes.FromIfxToJDBC2Type(ifxType);
+	}
+	
+	private void add(final int type)
+	{
+		if(this.size == this.types.length)
+		{
+			this.types = Arrays.copyOf(this.types, this.size * 2);
+		}
+		this.types[this.size++] = type;
+	}
+	
+	int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * @return the JDBC type of the <b>index</b>th entry
+	 */
+	int get(final int index)
+	{
+		return this.types[index];
+	}
+}
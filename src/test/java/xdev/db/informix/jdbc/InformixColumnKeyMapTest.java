@@ -0,0 +1,102 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+
+class InformixColumnKeyMapTest
+{
+	@Test
+	void putAndGet()
+	{
+		final InformixColumnKeyMap map = new InformixColumnKeyMap();
+		map.put(100, 1, "id");
+		map.put(100, 2, "name");
+		map.put(101, 1, "other_id");
+		
+		assertEquals("id", map.get(100, 1));
+		assertEquals("name", map.get(100, 2));
+		assertEquals("other_id", map.get(101, 1));
+		assertNull(map.get(101, 2));
+		assertNull(map.get(102, 1));
+		assertEquals(3, map.size());
+	}
+	
+	@Test
+	void putReplacesExistingColumn()
+	{
+		final InformixColumnKeyMap map = new InformixColumnKeyMap();
+		map.put(100, 1, "id");
+		map.put(100, 1, "renamed");
+		
+		assertEquals("renamed", map.get(100, 1));
+		assertEquals(1, map.size());
+	}
+	
+	@Test
+	void keepsAllColumnsWhileGrowing()
+	{
+		final InformixColumnKeyMap map = new InformixColumnKeyMap(1);
+		for(int tabid = 100; tabid < 1100; tabid++)
+		{
+			for(int colno = 1; colno <= 20; colno++)
+			{
+				map.put(tabid, colno, tabid + "." + colno);
+			}
+		}
+		
+		assertEquals(20000, map.size());
+		for(int tabid = 100; tabid < 1100; tabid++)
+		{
+			for(int colno = 1; colno <= 20; colno++)
+			{
+				assertEquals(tabid + "." + colno, map.get(tabid, colno));
+			}
+			assertNull(map.get(tabid, 21));
+		}
+	}
+	
+	@Test
+	void clearRemovesAllColumns()
+	{
+		final InformixColumnKeyMap map = new InformixColumnKeyMap(100);
+		map.put(100, 1, "id");
+		map.put(100, 2, "name");
+		map.clear();
+		
+		assertEquals(0, map.size());
+		assertNull(map.get(100, 1));
+		
+		map.put(100, 2, "again");
+		assertEquals("again", map.get(100, 2));
+		assertEquals(1, map.size());
+	}
+	
+	@Test
+	void keyKeepsTabidAndColnoApart()
+	{
+		assertNotEquals(InformixColumnKeyMap.key(1, 2), InformixColumnKeyMap.key(2, 1));
+		assertNotEquals(InformixColumnKeyMap.key(0, -1), InformixColumnKeyMap.key(-1, -1));
+		assertNotEquals(0L, InformixColumnKeyMap.key(0, 1));
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Types;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.informix.lang.IfxTypes;
+
+import xdev.db.DataType;
+
+
+class InformixColumnTypesTest
+{
+	private static final int NOT_NULL = 0x100;
+	
+	@Test
+	void decodesBaseTypeIgnoringNotNullBit()
+	{
+		assertEquals(DataType.INTEGER, InformixColumnTypes.getDataType(IfxTypes.IFX_TYPE_INT));
+		assertEquals(DataType.INTEGER, InformixColumnTypes.getDataType(IfxTypes.IFX_TYPE_INT | NOT_NULL));
+		assertEquals(DataType.DECIMAL, InformixColumnTypes.getDataType(IfxTypes.IFX_TYPE_DECIMAL | NOT_NULL));
+	}
+	
+	@Test
+	void nullableFromNotNullBit()
+	{
+		assertTrue(InformixColumnTypes.isNullable(IfxTypes.IFX_TYPE_INT));
+		assertFalse(InformixColumnTypes.isNullable(IfxTypes.IFX_TYPE_INT | NOT_NULL));
+	}
+	
+	@Test
+	void serialIsAutoIncrement()
+	{
+		assertTrue(InformixColumnTypes.isAutoIncrement(IfxTypes.IFX_TYPE_SERIAL));
+		assertTrue(InformixColumnTypes.isAutoIncrement(IfxTypes.IFX_TYPE_SERIAL | NOT_NULL));
+		assertFalse(InformixColumnTypes.isAutoIncrement(IfxTypes.IFX_TYPE_INT));
+	}
+	
+	@Test
+	void decimalPrecisionAndScale()
+	{
+		final int collength = 12 * 256 + 3;
+		assertEquals(12, InformixColumnTypes.getLength(DataType.DECIMAL, collength));
+		assertEquals(3, InformixColumnTypes.getScale(DataType.DECIMAL, collength));
+	}
+	
+	@Test
+	void floatingPointDecimalKeepsLength()
+	{
+		final int collength = 16 * 256 + 255;
+		assertEquals(collength, InformixColumnTypes.getLength(DataType.DECIMAL, collength));
+	}
+	
+	@Test
+	void datetimeLengthWithoutQualifiers()
+	{
+		// DATETIME YEAR TO SECOND: 14 digits, qualifiers YEAR (0) and SECOND (10)
+		assertEquals(14, InformixColumnTypes.getLength(DataType.TIMESTAMP, 14 * 256 + 0x0A));
+		// DATETIME YEAR TO FRACTION(3): 17 digits, qualifiers YEAR (0) and FRACTION(3) (13)
+		assertEquals(17, InformixColumnTypes.getLength(DataType.TIMESTAMP, 17 * 256 + 0x0D));
+	}
+	
+	@Test
+	void otherTypesKeepLength()
+	{
+		assertEquals(255, InformixColumnTypes.getLength(DataType.VARCHAR, 255));
+		assertEquals(0, InformixColumnTypes.getScale(DataType.VARCHAR, 255));
+	}
+	
+	@Test
+	void jdbcTypeSqlMatchesDecodedTypes()
+	{
+		final String sql = InformixColumnTypes.getJdbcTypeSql("C.coltype");
+		assertTrue(sql.startsWith("CASE WHEN MOD(C.coltype, 256) IN ("), sql);
+		assertTrue(sql.endsWith(" ELSE " + Types.OTHER + " END"), sql);
+		
+		final Matcher matcher = Pattern.compile("WHEN MOD\\(C\\.coltype, 256\\) IN \\(([^)]*)\\) THEN (-?\\d+)")
+			.matcher(sql);
+		int types = 0;
+		while(matcher.find())
+		{
+			final short jdbcType = Short.parseShort(matcher.group(2));
+			for(final String type : matcher.group(1).split(", "))
+			{
+				assertEquals(DataType.get(jdbcType), InformixColumnTypes.getDataType(Integer.parseInt(type)), type);
+				types++;
+			}
+		}
+		assertTrue(types > 0, sql);
+	}
+	
+	@Test
+	void lengthSqlDecodesDecimalAndDatetime()
+	{
+		final String sql = InformixColumnTypes.getLengthSql("C.coltype", "C.collength");
+		assertTrue(sql.startsWith("CASE WHEN MOD(C.coltype, 256) IN ("), sql);
+		assertTrue(sql.contains("THEN CASE WHEN MOD(C.collength, 256) = 255 THEN C.collength"
+			+ " ELSE TRUNC(C.collength / 256) END"), sql);
+		assertTrue(sql.contains(") THEN TRUNC(C.collength / 256) ELSE C.collength END"), sql);
+	}
+}
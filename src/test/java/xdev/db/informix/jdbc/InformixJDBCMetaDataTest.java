@@ -0,0 +1,57 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+
+class InformixJDBCMetaDataTest
+{
+	@Test
+	void nullDefaultHasNoValue()
+	{
+		assertNull(InformixJDBCMetaData.decodeColumnDefault("N", "null"));
+		assertNull(InformixJDBCMetaData.decodeColumnDefault("n", "null"));
+		assertNull(InformixJDBCMetaData.decodeColumnDefault("L", null));
+	}
+	
+	@Test
+	void literalDefaultIsSecondWord()
+	{
+		assertEquals("hello", InformixJDBCMetaData.decodeColumnDefault("L", "5 hello"));
+		assertEquals("hello", InformixJDBCMetaData.decodeColumnDefault("l", "5 hello world"));
+		assertEquals("", InformixJDBCMetaData.decodeColumnDefault("L", "5  hello"));
+	}
+	
+	@Test
+	void literalDefaultWithoutSecondWordIsKept()
+	{
+		assertEquals("42", InformixJDBCMetaData.decodeColumnDefault("L", "42"));
+		assertEquals("42", InformixJDBCMetaData.decodeColumnDefault("L", "42  "));
+	}
+	
+	@Test
+	void otherDefaultsAreKept()
+	{
+		assertEquals("today", InformixJDBCMetaData.decodeColumnDefault("T", "today"));
+		assertEquals("5 hello", InformixJDBCMetaData.decodeColumnDefault("LL", "5 hello"));
+	}
+}
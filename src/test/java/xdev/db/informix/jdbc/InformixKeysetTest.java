@@ -0,0 +1,104 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+
+class InformixKeysetTest
+{
+	@Test
+	void singleColumn()
+	{
+		final InformixKeyset keyset = new InformixKeyset("id");
+		assertEquals("(id > ?)", keyset.getCondition());
+		assertEquals("id", keyset.getOrderBy());
+		assertEquals(1, keyset.getParameterCount());
+	}
+	
+	@Test
+	void expandsRowValueComparison()
+	{
+		final InformixKeyset keyset = new InformixKeyset("a", "b", "c");
+		assertEquals("(a > ? OR (a = ? AND b > ?) OR (a = ? AND b = ? AND c > ?))", keyset.getCondition());
+		assertEquals("a, b, c", keyset.getOrderBy());
+		assertEquals(6, keyset.getParameterCount());
+		assertEquals(3, keyset.getColumnCount());
+	}
+	
+	@Test
+	void descendingColumns()
+	{
+		final InformixKeyset keyset = new InformixKeyset(new String[]{"a", "b"}, new boolean[]{false, true});
+		assertEquals("(a > ? OR (a = ? AND b < ?))", keyset.getCondition());
+		assertEquals("a, b DESC", keyset.getOrderBy());
+	}
+	
+	@Test
+	void rejectsInvalidColumns()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new InformixKeyset());
+		assertThrows(IllegalArgumentException.class,
+			() -> new InformixKeyset(new String[]{"a", "b"}, new boolean[]{true}));
+	}
+	
+	@Test
+	void bindsParametersInConditionOrder() throws Exception
+	{
+		final List<Object> parameters = new ArrayList<>();
+		final InformixKeyset keyset = new InformixKeyset("a", "b", "c");
+		
+		final int next = keyset.bind(recordingStatement(parameters), 3, 1, "x", 2.5);
+		assertEquals(3 + keyset.getParameterCount(), next);
+		assertArrayEquals(new Object[]{3, 1, 4, 1, 5, "x", 6, 1, 7, "x", 8, 2.5}, parameters.toArray());
+	}
+	
+	@Test
+	void rejectsKeyOfWrongLength()
+	{
+		final InformixKeyset keyset = new InformixKeyset("a", "b");
+		assertThrows(IllegalArgumentException.class,
+			() -> keyset.bind(recordingStatement(new ArrayList<>()), 1, "x"));
+	}
+	
+	/**
+	 * @return a statement which adds the index and value of every <code>setObject</code> call to <b>parameters</b>
+	 */
+	private static PreparedStatement recordingStatement(final List<Object> parameters)
+	{
+		return (PreparedStatement)Proxy.newProxyInstance(InformixKeysetTest.class.getClassLoader(),
+			new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+				if(!method.getName().equals("setObject") || args.length != 2)
+				{
+					throw new UnsupportedOperationException(method.getName());
+				}
+				parameters.add(args[0]);
+				parameters.add(args[1]);
+				return null;
+			});
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import xdev.db.ColumnMetaData;
+import xdev.db.DBMetaData.TableInfo;
+import xdev.db.DBMetaData.TableMetaData;
+import xdev.db.DBMetaData.TableType;
+import xdev.db.DataType;
+import xdev.db.Index;
+import xdev.db.Index.IndexType;
+import xdev.db.StoredProcedure;
+import xdev.db.StoredProcedure.Param;
+import xdev.db.StoredProcedure.ParamType;
+import xdev.db.StoredProcedure.ReturnTypeFlavor;
+
+
+class InformixMetaDataSnapshotTest
+{
+	@TempDir
+	File directory;
+	
+	@Test
+	void roundTrip() throws IOException
+	{
+		final InformixCatalogFingerprint fingerprint = new InformixCatalogFingerprint(1200, 950, 4711, 123456, 42,
+			880);
+		
+		final Map<Integer, InformixMetaDataCache.TableVersion> versions = new HashMap<>();
+		versions.put(100, new InformixMetaDataCache.TableVersion("customer", 3, 20240101));
+		versions.put(101, new InformixMetaDataCache.TableVersion("orders", 1, 20240102));
+		
+		final Object[] defaults = {null, "n/a", 7, 8L, (short)9, new BigDecimal("12.50"), 1.5, true,
+			Timestamp.valueOf("2024-01-02 03:04:05.6"), java.sql.Date.valueOf("2024-01-02"),
+			new java.util.Date(1700000000000L)};
+		final ColumnMetaData[] columns = new ColumnMetaData[defaults.length];
+		for(int i = 0; i < columns.length; i++)
+		{
+			columns[i] = new ColumnMetaData("customer", "col" + i, i % 2 == 0 ? null : "Column " + i,
+				i == 0 ? DataType.INTEGER : DataType.VARCHAR, 10 + i, i, defaults[i], i % 3 != 0, i == 0);
+		}
+		final Index[] indices = {new Index("pk_customer", IndexType.PRIMARY_KEY, "col0"),
+			new Index("ix_customer", IndexType.NORMAL, "col1", "col2")};
+		
+		final Map<String, TableMetaData> tables = new LinkedHashMap<>();
+		tables.put("informix.customer", new InformixTableMetaData(
+			new TableInfo(TableType.TABLE, "informix", "customer"), columns, indices, 1234, true));
+		tables.put("orders_view", new InformixTableMetaData(
+			new TableInfo(TableType.VIEW, null, "orders_view"), new ColumnMetaData[0], new Index[0], -1, false));
+		
+		final StoredProcedure[] procedures = {
+			new StoredProcedure(ReturnTypeFlavor.TYPE, DataType.INTEGER, "count_orders", "Counts orders",
+				new Param(ParamType.IN, "customer_id", DataType.INTEGER)),
+			new StoredProcedure(ReturnTypeFlavor.VOID, null, "cleanup", null)};
+		
+		final File file = InformixMetaDataSnapshot.getFile(this.directory, "host", "server", "db");
+		new InformixMetaDataSnapshot(fingerprint, versions, tables, procedures).write(file);
+		final InformixMetaDataSnapshot read = InformixMetaDataSnapshot.read(file);
+		
+		assertEquals(fingerprint, read.fingerprint);
+		assertEquals(versions, read.tableVersions);
+		assertArrayEquals(tables.keySet().toArray(), read.tables.keySet().toArray());
+		for(final String key : tables.keySet())
+		{
+			assertTableEquals(tables.get(key), read.tables.get(key));
+		}
+		
+		assertEquals(procedures.length, read.procedures.length);
+		for(int i = 0; i < procedures.length; i++)
+		{
+			assertProcedureEquals(procedures[i], read.procedures[i]);
+		}
+	}
+	
+	@Test
+	void roundTripWithoutProcedures() throws IOException
+	{
+		final File file = new File(this.directory, "empty.ifxmeta");
+		new InformixMetaDataSnapshot(new InformixCatalogFingerprint(1, 2, 3, 4, 5, 6), new HashMap<>(),
+			new LinkedHashMap<>(), null).write(file);
+		
+		final InformixMetaDataSnapshot read = InformixMetaDataSnapshot.read(file);
+		assertTrue(read.tableVersions.isEmpty());
+		assertTrue(read.tables.isEmpty());
+		assertNull(read.procedures);
+		assertFalse(new File(this.directory, "empty.ifxmeta.tmp").exists());
+	}
+	
+	@Test
+	void missingFileIsNoSnapshot() throws IOException
+	{
+		assertNull(InformixMetaDataSnapshot.read(new File(this.directory, "missing.ifxmeta")));
+	}
+	
+	@Test
+	void otherFormatVersionIsNoSnapshot() throws IOException
+	{
+		final File file = new File(this.directory, "old.ifxmeta");
+		try(final DataOutputStream out = new DataOutputStream(new FileOutputStream(file)))
+		{
+			out.writeInt(0x49464d44);
+			out.writeInt(1);
+		}
+		assertNull(InformixMetaDataSnapshot.read(file));
+	}
+	
+	@Test
+	void fileNameOfDatabase()
+	{
+		final File file = InformixMetaDataSnapshot.getFile(this.directory, "db.example.com", "ol_server", "my db");
+		assertEquals(new File(this.directory, "db.example.com_ol_server_my_db.ifxmeta"), file);
+	}
+	
+	private static void assertTableEquals(final TableMetaData expected, final TableMetaData actual)
+	{
+		assertEquals(expected.getTableInfo().getType(), actual.getTableInfo().getType());
+		assertEquals(expected.getTableInfo().getSchema(), actual.getTableInfo().getSchema());
+		assertEquals(expected.getTableInfo().getName(), actual.getTableInfo().getName());
+		assertEquals(expected.getRowCount(), actual.getRowCount());
+		assertEquals(((InformixTableMetaData)expected).isRowCountExact(),
+			((InformixTableMetaData)actual).isRowCountExact());
+		
+		final ColumnMetaData[] expectedColumns = expected.getColumns();
+		final ColumnMetaData[] actualColumns = actual.getColumns();
+		assertEquals(expectedColumns.length, actualColumns.length);
+		for(int i = 0; i < expectedColumns.length; i++)
+		{
+			final ColumnMetaData column = expectedColumns[i];
+			final ColumnMetaData other = actualColumns[i];
+			assertEquals(column.getTable(), other.getTable());
+			assertEquals(column.getName(), other.getName());
+			assertEquals(column.getCaption(), other.getCaption());
+			assertEquals(column.getType(), other.getType());
+			assertEquals(column.getLength(), other.getLength());
+			assertEquals(column.getScale(), other.getScale());
+			assertEquals(column.getDefaultValue(), other.getDefaultValue());
+			if(column.getDefaultValue() != null)
+			{
+				assertEquals(column.getDefaultValue().getClass(), other.getDefaultValue().getClass());
+			}
+			assertEquals(column.isNullable(), other.isNullable());
+			assertEquals(column.isAutoIncrement(), other.isAutoIncrement());
+		}
+		
+		final Index[] expectedIndices = expected.getIndices();
+		final Index[] actualIndices = actual.getIndices();
+		assertEquals(expectedIndices.length, actualIndices.length);
+		for(int i = 0; i < expectedIndices.length; i++)
+		{
+			assertEquals(expectedIndices[i].getName(), actualIndices[i].getName());
+			assertEquals(expectedIndices[i].getType(), actualIndices[i].getType());
+			assertArrayEquals(expectedIndices[i].getColumns(), actualIndices[i].getColumns());
+		}
+	}
+	
+	private static void assertProcedureEquals(final StoredProcedure expected, final StoredProcedure actual)
+	{
+		assertEquals(expected.getReturnTypeFlavor(), actual.getReturnTypeFlavor());
+		assertEquals(expected.getReturnType(), actual.getReturnType());
+		assertEquals(expected.getName(), actual.getName());
+		assertEquals(expected.getDescription(), actual.getDescription());
+		
+		final Param[] expectedParams = expected.getParams();
+		final Param[] actualParams = actual.getParams();
+		assertEquals(expectedParams.length, actualParams.length);
+		for(int i = 0; i < expectedParams.length; i++)
+		{
+			assertEquals(expectedParams[i].getParamType(), actualParams[i].getParamType());
+			assertEquals(expectedParams[i].getName(), actualParams[i].getName());
+			assertEquals(expectedParams[i].getDataType(), actualParams[i].getDataType());
+		}
+	}
+}
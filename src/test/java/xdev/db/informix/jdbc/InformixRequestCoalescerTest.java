@@ -0,0 +1,270 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import xdev.db.DBException;
+import xdev.util.ProgressMonitor;
+
+
+class InformixRequestCoalescerTest
+{
+	private static final long TIMEOUT_MILLIS = 10000;
+	private static final ProgressMonitor ACTIVE = monitor(() -> false);
+	
+	private final InformixRequestCoalescer coalescer = new InformixRequestCoalescer(null);
+	private final AtomicInteger loads = new AtomicInteger();
+	private final AtomicInteger copies = new AtomicInteger();
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	
+	@Test
+	void identicalRequestsLoadOnce() throws Exception
+	{
+		final Caller leader = this.call("tables", ACTIVE, this.blockingLoad("leader"));
+		assertTrue(this.started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		
+		final List<Caller> waiters = new ArrayList<>();
+		for(int i = 0; i < 3; i++)
+		{
+			waiters.add(this.call("tables", ACTIVE, this.load("waiter")));
+		}
+		for(final Caller waiter : waiters)
+		{
+			awaitWaiting(waiter);
+		}
+		this.release.countDown();
+		
+		assertEquals(Arrays.asList("leader"), leader.awaitResult());
+		for(final Caller waiter : waiters)
+		{
+			final List<String> result = waiter.awaitResult();
+			assertEquals(Arrays.asList("leader"), result);
+			assertNotSame(leader.result, result);
+		}
+		assertEquals(1, this.loads.get());
+		assertEquals(waiters.size(), this.copies.get());
+	}
+	
+	@Test
+	void differentRequestsLoadSeparately() throws Exception
+	{
+		assertEquals(Arrays.asList("a"), this.coalescer.execute("a", ACTIVE, this::copy, this.load("a")));
+		assertEquals(Arrays.asList("b"), this.coalescer.execute("b", ACTIVE, this::copy, this.load("b")));
+		assertEquals(Arrays.asList("a"), this.coalescer.execute("a", ACTIVE, this::copy, this.load("a")));
+		assertEquals(3, this.loads.get());
+		assertEquals(0, this.copies.get());
+	}
+	
+	@Test
+	void failureIsPropagatedToWaiters() throws Exception
+	{
+		final DBException failure = new DBException(null, "catalog unavailable");
+		final Caller leader = this.call("tables", ACTIVE, () -> {
+			this.loads.incrementAndGet();
+			this.started.countDown();
+			this.awaitRelease();
+			throw failure;
+		});
+		assertTrue(this.started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		
+		final Caller waiter = this.call("tables", ACTIVE, this.load("waiter"));
+		awaitWaiting(waiter);
+		this.release.countDown();
+		
+		assertSame(failure, leader.awaitFailure());
+		assertSame(failure, waiter.awaitFailure().getCause());
+		assertEquals(1, this.loads.get());
+	}
+	
+	@Test
+	void cancelledWaiterFails() throws Exception
+	{
+		final Caller leader = this.call("tables", ACTIVE, this.blockingLoad("leader"));
+		assertTrue(this.started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		
+		final AtomicBoolean cancelled = new AtomicBoolean();
+		final Caller waiter = this.call("tables", monitor(cancelled::get), this.load("waiter"));
+		awaitWaiting(waiter);
+		cancelled.set(true);
+		
+		assertTrue(waiter.awaitFailure() instanceof DBException);
+		assertTrue(leader.isAlive());
+		
+		this.release.countDown();
+		assertEquals(Arrays.asList("leader"), leader.awaitResult());
+		assertEquals(1, this.loads.get());
+	}
+	
+	@Test
+	void resultOfCancelledRequestIsNotShared() throws Exception
+	{
+		final AtomicBoolean cancelled = new AtomicBoolean();
+		final Caller leader = this.call("tables", monitor(cancelled::get), this.blockingLoad("leader"));
+		assertTrue(this.started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		
+		final Caller waiter = this.call("tables", ACTIVE, this.load("waiter"));
+		awaitWaiting(waiter);
+		cancelled.set(true);
+		this.release.countDown();
+		
+		assertEquals(Arrays.asList("leader"), leader.awaitResult());
+		assertEquals(Arrays.asList("waiter"), waiter.awaitResult());
+		assertEquals(2, this.loads.get());
+		assertEquals(0, this.copies.get());
+	}
+	
+	private InformixRequestCoalescer.Request<List<String>> load(final String result)
+	{
+		return () -> {
+			this.loads.incrementAndGet();
+			return new ArrayList<>(Arrays.asList(result));
+		};
+	}
+	
+	/**
+	 * @return a request which signals {@link #started} and blocks until {@link #release}
+	 */
+	private InformixRequestCoalescer.Request<List<String>> blockingLoad(final String result)
+	{
+		return () -> {
+			this.loads.incrementAndGet();
+			this.started.countDown();
+			this.awaitRelease();
+			return new ArrayList<>(Arrays.asList(result));
+		};
+	}
+	
+	private void awaitRelease()
+	{
+		try
+		{
+			assertTrue(this.release.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		}
+		catch(final InterruptedException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private List<String> copy(final List<String> result)
+	{
+		this.copies.incrementAndGet();
+		return new ArrayList<>(result);
+	}
+	
+	private Caller call(
+		final String key, final ProgressMonitor monitor,
+		final InformixRequestCoalescer.Request<List<String>> request)
+	{
+		final Caller caller = new Caller(() -> this.coalescer.execute(key, monitor, this::copy, request));
+		caller.start();
+		return caller;
+	}
+	
+	/**
+	 * Waits until <b>caller</b> polls for the result of a running request.
+	 */
+	private static void awaitWaiting(final Caller caller) throws InterruptedException
+	{
+		final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while(caller.getState() != Thread.State.TIMED_WAITING)
+		{
+			if(!caller.isAlive() || System.currentTimeMillis() > deadline)
+			{
+				fail("Request did not wait: " + caller.getState());
+			}
+			Thread.sleep(1);
+		}
+	}
+	
+	private static ProgressMonitor monitor(final BooleanSupplier cancelled)
+	{
+		return (ProgressMonitor)Proxy.newProxyInstance(InformixRequestCoalescerTest.class.getClassLoader(),
+			new Class<?>[]{ProgressMonitor.class},
+			(proxy, method, args) -> method.getName().equals("isCanceled") ? cancelled.getAsBoolean() : null);
+	}
+	
+	/**
+	 * Executes a request in its own thread.
+	 */
+	private static final class Caller extends Thread
+	{
+		private final InformixRequestCoalescer.Request<List<String>> request;
+		private volatile List<String> result;
+		private volatile Exception failure;
+		
+		Caller(final InformixRequestCoalescer.Request<List<String>> request)
+		{
+			this.request = request;
+			this.setDaemon(true);
+		}
+		
+		@Override
+		public void run()
+		{
+			try
+			{
+				this.result = this.request.load();
+			}
+			catch(final Exception e)
+			{
+				this.failure = e;
+			}
+		}
+		
+		List<String> awaitResult() throws Exception
+		{
+			this.join(TIMEOUT_MILLIS);
+			assertFalse(this.isAlive(), "Request did not finish");
+			if(this.failure != null)
+			{
+				throw this.failure;
+			}
+			return this.result;
+		}
+		
+		Exception awaitFailure() throws InterruptedException
+		{
+			this.join(TIMEOUT_MILLIS);
+			assertFalse(this.isAlive(), "Request did not finish");
+			assertNull(this.result);
+			return this.failure;
+		}
+	}
+}
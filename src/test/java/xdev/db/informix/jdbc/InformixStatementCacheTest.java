@@ -0,0 +1,46 @@
+/*
+ * SqlEngine Database Adapter Informix - XAPI SqlEngine Database Adapter for Informix
+ * Copyright © 2003 XDEV Software (https://xdev.software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package xdev.db.informix.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+
+class InformixStatementCacheTest
+{
+	@Test
+	void inListSizeIsNextPowerOfTwo()
+	{
+		assertEquals(1, InformixStatementCache.inListSize(0, 256));
+		assertEquals(1, InformixStatementCache.inListSize(1, 256));
+		assertEquals(2, InformixStatementCache.inListSize(2, 256));
+		assertEquals(4, InformixStatementCache.inListSize(3, 256));
+		assertEquals(4, InformixStatementCache.inListSize(4, 256));
+		assertEquals(8, InformixStatementCache.inListSize(5, 256));
+		assertEquals(128, InformixStatementCache.inListSize(100, 256));
+		assertEquals(256, InformixStatementCache.inListSize(256, 256));
+	}
+	
+	@Test
+	void inListSizeIsCapped()
+	{
+		assertEquals(256, InformixStatementCache.inListSize(257, 256));
+		assertEquals(200, InformixStatementCache.inListSize(150, 200));
+	}
+}